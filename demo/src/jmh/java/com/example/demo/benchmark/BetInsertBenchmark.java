@@ -0,0 +1,108 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.models.Bet;
+import com.example.demo.models.Game;
+import com.example.demo.models.User;
+import com.example.demo.repository.BetRepository;
+import com.example.demo.repository.GameRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BetInsertBenchmark {
+
+	private static final long USER_ID = 500_000_000L;
+	private static final long GAME_ID = 500_000_000L;
+
+	@Param("100000")
+	private int bets;
+
+	@Param("1000")
+	private int betsPerTransaction;
+
+	@Param({"1", "50"})
+	private int jdbcBatchSize;
+
+	private ConfigurableApplicationContext context;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private BetRepository betRepository;
+	private User user;
+	private Game game;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkApplication.start("spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		betRepository = context.getBean(BetRepository.class);
+
+		jdbcTemplate.update("insert into \"user\" (id, username, email, password_hash, balance, is_aactive, version) "
+				+ "values (?, 'benchmark', 'benchmark@example.com', 'x', 0, true, 0)", USER_ID);
+		jdbcTemplate.update("insert into game (id, table_id, status) values (?, 'benchmark', 'BETTING_OPEN')", GAME_ID);
+		user = context.getBean(UserRepository.class).getReferenceById(USER_ID);
+		game = context.getBean(GameRepository.class).getReferenceById(GAME_ID);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	@Setup(Level.Invocation)
+	public void clearBets() {
+		jdbcTemplate.update("delete from bet where game_id = ?", GAME_ID);
+	}
+
+	@Benchmark
+	public int saveAll() {
+		int saved = 0;
+		while (saved < bets) {
+			int count = Math.min(betsPerTransaction, bets - saved);
+			transactionTemplate.executeWithoutResult(status -> betRepository.saveAll(newBets(count)));
+			saved += count;
+		}
+		return saved;
+	}
+
+	private List<Bet> newBets(int count) {
+		List<Bet> created = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Bet bet = new Bet();
+			bet.setUser(user);
+			bet.setGame(game);
+			bet.setAmount(Money.ofMinor(100));
+			bet.setBetType(BetType.STRAIGHT);
+			bet.setBetValue(String.valueOf(i % 37));
+			bet.setPotentialPayout(Money.ofMinor(3600));
+			created.add(bet);
+		}
+		return created;
+	}
+}
@@ -0,0 +1,123 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.models.Game;
+import com.example.demo.repository.GameRepository;
+import com.example.demo.utils.GameStatus;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OverdueTransitionBenchmark {
+
+	private static final long FIRST_ID = 500_000_000L;
+
+	@Param("10000")
+	private int overdueGames;
+
+	private ConfigurableApplicationContext context;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private GameRepository gameRepository;
+	private EntityManager entityManager;
+
+	@Setup(Level.Trial)
+	public void start() {
+		context = BenchmarkApplication.start();
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		gameRepository = context.getBean(GameRepository.class);
+		entityManager = context.getBean(EntityManager.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	@Setup(Level.Invocation)
+	public void insertOverdueGames() {
+		jdbcTemplate.update("delete from game where id >= ?", FIRST_ID);
+		Timestamp overdue = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+		List<Object[]> rows = new ArrayList<>(overdueGames);
+		for (int i = 0; i < overdueGames; i++) {
+			rows.add(new Object[]{FIRST_ID + i, overdue});
+		}
+		jdbcTemplate.batchUpdate("insert into game (id, table_id, status, betting_time_start) "
+				+ "values (?, 'benchmark', 'PLANNED', ?)", rows);
+	}
+
+	@Benchmark
+	public int batchedUpdate() {
+		return transactionTemplate.execute(status -> {
+			LocalDateTime now = LocalDateTime.now();
+			List<Long> due = gameRepository.lockIdsByBettingTimeStartBefore(GameStatus.PLANNED.name(), now);
+			Timestamp at = Timestamp.valueOf(now);
+			jdbcTemplate.batchUpdate("update game set status = ?, updated_at = ? where id = ? and status = ?",
+					due, due.size(), (statement, gameId) -> {
+						statement.setString(1, GameStatus.BETTING_OPEN.name());
+						statement.setTimestamp(2, at);
+						statement.setLong(3, gameId);
+						statement.setString(4, GameStatus.PLANNED.name());
+					});
+			return due.size();
+		});
+	}
+
+	@Benchmark
+	public int inListUpdate() {
+		return transactionTemplate.execute(status -> {
+			LocalDateTime now = LocalDateTime.now();
+			List<Long> due = gameRepository.lockIdsByBettingTimeStartBefore(GameStatus.PLANNED.name(), now);
+			return entityManager.createQuery(
+							"update Game g set g.status = :to, g.updatedAt = :now where g.id in :ids and g.status = :from")
+					.setParameter("to", GameStatus.BETTING_OPEN)
+					.setParameter("now", now)
+					.setParameter("ids", due)
+					.setParameter("from", GameStatus.PLANNED)
+					.executeUpdate();
+		});
+	}
+
+	@Benchmark
+	public int loadMutateSave() {
+		return transactionTemplate.execute(status -> {
+			LocalDateTime now = LocalDateTime.now();
+			List<Game> due = entityManager.createQuery(
+							"select g from Game g where g.status = :status and g.bettingTimeStart < :now", Game.class)
+					.setParameter("status", GameStatus.PLANNED)
+					.setParameter("now", now)
+					.getResultList();
+			for (Game game : due) {
+				game.setStatus(GameStatus.BETTING_OPEN);
+				gameRepository.save(game);
+			}
+			return due.size();
+		});
+	}
+}
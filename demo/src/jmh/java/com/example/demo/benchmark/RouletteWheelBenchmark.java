@@ -0,0 +1,106 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.utils.BetSelection;
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.RouletteWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouletteWheelBenchmark {
+
+	private static final int BETS = 1024;
+
+	private static final String[][] VALUES = {
+			{"STRAIGHT", "0", "7", "17", "32"},
+			{"SPLIT", "0-1", "17-20", "35-36"},
+			{"STREET", "1-2-3", "16-17-18"},
+			{"CORNER", "0-1-2-3", "17-18-20-21"},
+			{"LINE", "1-2-3-4-5-6", "31-32-33-34-35-36"},
+			{"COLOR", "RED", "BLACK"},
+			{"PARITY", "EVEN", "ODD"},
+			{"HALF", "LOW", "HIGH"},
+			{"DOZEN", "1", "2", "3"},
+			{"COLUMN", "1", "2", "3"}
+	};
+
+	private BetType[] types;
+	private String[] values;
+	private BetSelection[] selections;
+	private long[] stakesMinor;
+	private int[] winningNumbers;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(17);
+		types = new BetType[BETS];
+		values = new String[BETS];
+		selections = new BetSelection[BETS];
+		stakesMinor = new long[BETS];
+		winningNumbers = new int[BETS];
+		for (int i = 0; i < BETS; i++) {
+			String[] choices = VALUES[random.nextInt(VALUES.length)];
+			types[i] = BetType.valueOf(choices[0]);
+			values[i] = choices[1 + random.nextInt(choices.length - 1)];
+			selections[i] = RouletteWheel.parse(types[i], values[i]);
+			stakesMinor[i] = 100L * (1 + random.nextInt(500));
+			winningNumbers[i] = random.nextInt(RouletteWheel.POCKETS);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BETS)
+	public void parse(Blackhole blackhole) {
+		for (int i = 0; i < BETS; i++) {
+			blackhole.consume(RouletteWheel.parse(types[i], values[i]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BETS)
+	public int covers() {
+		int winners = 0;
+		for (int i = 0; i < BETS; i++) {
+			if (selections[i].covers(winningNumbers[i])) {
+				winners++;
+			}
+		}
+		return winners;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BETS)
+	public long potentialPayout() {
+		long payout = 0;
+		for (int i = 0; i < BETS; i++) {
+			payout += selections[i].potentialPayoutMinor(stakesMinor[i]);
+		}
+		return payout;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BETS)
+	public void colorOf(Blackhole blackhole) {
+		for (int i = 0; i < BETS; i++) {
+			blackhole.consume(RouletteWheel.colorOf(winningNumbers[i]));
+		}
+	}
+}
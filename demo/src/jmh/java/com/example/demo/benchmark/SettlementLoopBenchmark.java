@@ -0,0 +1,119 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.utils.BetSelection;
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.RouletteWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettlementLoopBenchmark {
+
+	private static final String[][] VALUES = {
+			{"STRAIGHT", "0", "7", "17", "32"},
+			{"COLOR", "RED", "BLACK"},
+			{"PARITY", "EVEN", "ODD"},
+			{"HALF", "LOW", "HIGH"},
+			{"DOZEN", "1", "2", "3"},
+			{"COLUMN", "1", "2", "3"}
+	};
+
+	@Param("2000")
+	private int chunkSize;
+
+	private int winningNumber;
+	private BetType[] types;
+	private String[] values;
+	private BetSelection[] selections;
+	private long[] stakesMinor;
+	private BigDecimal[] stakes;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(17);
+		winningNumber = 17;
+		types = new BetType[chunkSize];
+		values = new String[chunkSize];
+		selections = new BetSelection[chunkSize];
+		stakesMinor = new long[chunkSize];
+		stakes = new BigDecimal[chunkSize];
+		for (int i = 0; i < chunkSize; i++) {
+			String[] choices = VALUES[random.nextInt(VALUES.length)];
+			types[i] = BetType.valueOf(choices[0]);
+			values[i] = choices[1 + random.nextInt(choices.length - 1)];
+			selections[i] = RouletteWheel.parse(types[i], values[i]);
+			stakesMinor[i] = 100L * (1 + random.nextInt(500));
+			stakes[i] = BigDecimal.valueOf(stakesMinor[i], Money.SCALE);
+		}
+	}
+
+	@Benchmark
+	public long payoutsInMinorUnits() {
+		long paid = 0;
+		for (int i = 0; i < chunkSize; i++) {
+			if (selections[i].covers(winningNumber)) {
+				paid = Money.addExact(paid, selections[i].potentialPayoutMinor(stakesMinor[i]));
+			}
+		}
+		return paid;
+	}
+
+	@Benchmark
+	public BigDecimal payoutsInBigDecimal() {
+		BigDecimal paid = BigDecimal.ZERO;
+		for (int i = 0; i < chunkSize; i++) {
+			if (selections[i].covers(winningNumber)) {
+				paid = paid.add(stakes[i].multiply(BigDecimal.valueOf(selections[i].payoutMultiplier() + 1L)));
+			}
+		}
+		return paid;
+	}
+
+	@Benchmark
+	public long payoutsParsingEveryBet() {
+		long paid = 0;
+		for (int i = 0; i < chunkSize; i++) {
+			BetSelection selection = RouletteWheel.parse(types[i], values[i]);
+			if (selection.covers(winningNumber)) {
+				paid = Money.addExact(paid, selection.potentialPayoutMinor(stakesMinor[i]));
+			}
+		}
+		return paid;
+	}
+
+	@Benchmark
+	public long payoutsWithSelectionCache() {
+		Map<String, BetSelection> cache = new HashMap<>();
+		long paid = 0;
+		for (int i = 0; i < chunkSize; i++) {
+			BetType type = types[i];
+			String value = values[i];
+			BetSelection selection = cache.computeIfAbsent(type + ":" + value, key -> RouletteWheel.parse(type, value));
+			if (selection.covers(winningNumber)) {
+				paid = Money.addExact(paid, selection.potentialPayoutMinor(stakesMinor[i]));
+			}
+		}
+		return paid;
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.games")
+public record GameTableProperties(List<Table> tables) {
+
+    public static final String DEFAULT_TABLE_ID = "main";
+
+    public GameTableProperties {
+        tables = tables == null || tables.isEmpty()
+                ? List.of(new Table(DEFAULT_TABLE_ID, null, null, null))
+                : List.copyOf(tables);
+    }
+
+    public record Table(String id, Duration cadence, Duration bettingWindow, Duration spinDuration) {
+
+        public Table {
+            cadence = cadence != null ? cadence : Duration.ofMinutes(3);
+            bettingWindow = bettingWindow != null ? bettingWindow : Duration.ofMinutes(1);
+            spinDuration = spinDuration != null ? spinDuration : Duration.ofMinutes(1);
+        }
+    }
+}
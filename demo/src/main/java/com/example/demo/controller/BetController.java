@@ -0,0 +1,40 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.BetResponse;
+import com.example.demo.dto.BetSlipRequest;
+import com.example.demo.dto.BetSlipResponse;
+import com.example.demo.dto.PlaceBetRequest;
+import com.example.demo.security.AccountUserDetails;
+import com.example.demo.service.BetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/games/{gameId}/bets")
+@RequiredArgsConstructor
+public class BetController {
+
+    private final BetService betService;
+
+    @PostMapping
+    public ResponseEntity<BetResponse> placeBet(@AuthenticationPrincipal AccountUserDetails principal,
+                                                @PathVariable Long gameId,
+                                                @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                                @Valid @RequestBody PlaceBetRequest request) {
+        BetResponse response = betService.placeBet(principal.getId(), gameId, request, idempotencyKey);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/slip")
+    public ResponseEntity<BetSlipResponse> placeSlip(@AuthenticationPrincipal AccountUserDetails principal,
+                                                     @PathVariable Long gameId,
+                                                     @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                                     @Valid @RequestBody BetSlipRequest slip) {
+        BetSlipResponse response = betService.placeSlip(principal.getId(), gameId, slip, idempotencyKey);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
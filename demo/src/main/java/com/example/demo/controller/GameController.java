@@ -1,19 +1,31 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.GameTableProperties;
+import com.example.demo.dto.ExposureResponse;
+import com.example.demo.dto.FairnessVerificationResponse;
+import com.example.demo.dto.GameHistoryResponse;
+import com.example.demo.dto.GameResponse;
 import com.example.demo.models.Game;
+import com.example.demo.scheduler.GameLifecycleEngine;
+import com.example.demo.service.ExposureTracker;
+import com.example.demo.service.GameEventBroadcaster;
+import com.example.demo.service.GameHistoryService;
 import com.example.demo.service.GameService;
+import com.example.demo.service.GameSnapshotService;
 import com.example.demo.utils.GameStatus;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import lombok.AllArgsConstructor;
-import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -22,64 +34,38 @@ import java.util.stream.Collectors;
 public class GameController {
 
     private final GameService gameService;
+    private final GameSnapshotService gameSnapshotService;
+    private final GameHistoryService gameHistoryService;
+    private final GameEventBroadcaster gameEventBroadcaster;
+    private final GameLifecycleEngine gameLifecycleEngine;
+    private final ExposureTracker exposureTracker;
+    private final GameTableProperties gameTableProperties;
 
-    @Data
-    @AllArgsConstructor
-    @JsonInclude(JsonInclude.Include.NON_NULL)
-    public static class GameResponse {
-        private Long id;
-        private GameStatus status;
-        private Integer winningNumber;
-        private String winningColor;
-        private String resultHash;
-        private String resultKey;
-        private LocalDateTime bettingTimeStart;
-        private LocalDateTime bettingTimeEnd;
-        private LocalDateTime start;
-        private LocalDateTime end;
-        
-        public static GameResponse fromGame(Game game) {
-            GameResponse response = new GameResponse(
-                game.getId(),
-                game.getStatus(),
-                null,
-                null,
-                game.getResultHash(),
-                null,
-                game.getBettingTimeStart(),
-                game.getBettingTimeEnd(),
-                game.getStart(),
-                game.getEnd()
-            );
-            
-            if (game.getStatus() == GameStatus.FINISHED || 
-                game.getStatus() == GameStatus.SETTLED || 
-                game.getStatus() == GameStatus.CANCELLED) {
-                response.setWinningNumber(game.getWinningNumber());
-                response.setWinningColor(game.getWinningColor() != null ? game.getWinningColor().toString() : null);
-                response.setResultKey(game.getResultKey());
-            }
-            
-            return response;
-        }
+    @GetMapping("/tables")
+    public ResponseEntity<List<GameTableProperties.Table>> getTables() {
+        return ResponseEntity.ok(gameTableProperties.tables());
     }
 
     @GetMapping("/planned")
-    public ResponseEntity<List<GameResponse>> getPlannedGames() {
-        return ResponseEntity.ok(
-            gameService.getPlannedGames().stream()
-                .map(GameResponse::fromGame)
-                .collect(Collectors.toList())
-        );
+    public ResponseEntity<byte[]> getPlannedGames(WebRequest request) {
+        return snapshotResponse(GameStatus.PLANNED, request);
     }
 
     @GetMapping("/open")
-    public ResponseEntity<List<GameResponse>> getOpenGames() {
-        return ResponseEntity.ok(
-            gameService.getOpenGames().stream()
-                .map(GameResponse::fromGame)
-                .collect(Collectors.toList())
-        );
+    public ResponseEntity<byte[]> getOpenGames(WebRequest request) {
+        return snapshotResponse(GameStatus.BETTING_OPEN, request);
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<GameHistoryResponse> getHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(gameHistoryService.getHistory(cursor, size));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return gameEventBroadcaster.subscribe();
     }
 
     @PostMapping("/generate")
@@ -93,4 +79,36 @@ public class GameController {
                 .collect(Collectors.toList())
         );
     }
+
+    @GetMapping("/verify")
+    public ResponseEntity<FairnessVerificationResponse> verifyChain(
+            @RequestParam Long fromId, @RequestParam Long toId) {
+        return ResponseEntity.ok(gameService.verifyChain(fromId, toId));
+    }
+
+    @GetMapping("/lifecycle/lag")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<GameStatus, GameLifecycleEngine.TransitionLagSnapshot>> getLifecycleLag() {
+        return ResponseEntity.ok(gameLifecycleEngine.getLagStats());
+    }
+
+    @GetMapping("/{id}/exposure")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExposureResponse> getExposure(@PathVariable Long id) {
+        return exposureTracker.getExposure(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<byte[]> snapshotResponse(GameStatus status, WebRequest request) {
+        GameSnapshotService.Snapshot snapshot = gameSnapshotService.getSnapshot(status);
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+
+        return ResponseEntity.ok()
+            .eTag(snapshot.etag())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(snapshot.json());
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.UserBetHistoryResponse;
+import com.example.demo.dto.UserProfileResponse;
+import com.example.demo.dto.WalletHistoryResponse;
+import com.example.demo.security.AccountUserDetails;
+import com.example.demo.service.UserHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users/me")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserHistoryService userHistoryService;
+
+    @GetMapping
+    public ResponseEntity<UserProfileResponse> getProfile(@AuthenticationPrincipal AccountUserDetails principal) {
+        return ResponseEntity.ok(userHistoryService.getProfile(principal.getId()));
+    }
+
+    @GetMapping("/bets")
+    public ResponseEntity<UserBetHistoryResponse> getBets(
+            @AuthenticationPrincipal AccountUserDetails principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userHistoryService.getBets(principal.getId(), cursor, size));
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<WalletHistoryResponse> getTransactions(
+            @AuthenticationPrincipal AccountUserDetails principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(userHistoryService.getTransactions(principal.getId(), cursor, size));
+    }
+}
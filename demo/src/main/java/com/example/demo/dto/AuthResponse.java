@@ -1,11 +1,10 @@
 package com.example.demo.dto;
 
+import com.example.demo.utils.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,11 +13,11 @@ public class AuthResponse {
     private Long id;
     private String username;
     private String email;
-    private BigDecimal balance;
+    private Money balance;
     private String token;
     private String tokenType = "Bearer";
 
-    public AuthResponse(Long id, String username, String email, BigDecimal balance, String token) {
+    public AuthResponse(Long id, String username, String email, Money balance, String token) {
         this.id = id;
         this.username = username;
         this.email = email;
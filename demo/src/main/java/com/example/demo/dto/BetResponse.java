@@ -0,0 +1,36 @@
+package com.example.demo.dto;
+
+import com.example.demo.models.Bet;
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BetResponse {
+
+    private Long id;
+    private Long gameId;
+    private BetType betType;
+    private String betValue;
+    private Money amount;
+    private Money potentialPayout;
+    private Money balanceAfter;
+    private LocalDateTime createdAt;
+
+    public static BetResponse fromBet(Bet bet, Long gameId, Money balanceAfter) {
+        return new BetResponse(
+            bet.getId(),
+            gameId,
+            bet.getBetType(),
+            bet.getBetValue(),
+            bet.getAmount(),
+            bet.getPotentialPayout(),
+            balanceAfter,
+            bet.getCreatedAt()
+        );
+    }
+}
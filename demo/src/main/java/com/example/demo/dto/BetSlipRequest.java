@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BetSlipRequest {
+
+    @NotEmpty(message = "A slip needs at least one bet")
+    private List<@Valid PlaceBetRequest> bets;
+}
@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import com.example.demo.utils.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BetSlipResponse {
+
+    private Long gameId;
+    private List<BetResponse> bets;
+    private Money totalAmount;
+    private Money balanceAfter;
+}
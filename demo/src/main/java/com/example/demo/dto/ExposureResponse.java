@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import com.example.demo.utils.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExposureResponse {
+
+    private Long gameId;
+    private Money maxPerNumber;
+    private Money maxExposure;
+    private Integer worstNumber;
+    private List<Money> perNumber;
+}
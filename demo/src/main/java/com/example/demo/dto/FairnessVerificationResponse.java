@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FairnessVerificationResponse {
+
+    private Long fromId;
+    private Long toId;
+    private int gamesChecked;
+    private boolean valid;
+    private List<String> problems;
+}
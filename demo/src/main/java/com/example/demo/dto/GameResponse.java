@@ -0,0 +1,72 @@
+package com.example.demo.dto;
+
+import com.example.demo.models.FinishedGame;
+import com.example.demo.models.Game;
+import com.example.demo.utils.GameStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.With;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameResponse {
+
+    private Long id;
+    private String tableId;
+    @With
+    private GameStatus status;
+    private Integer winningNumber;
+    private String winningColor;
+    private String resultHash;
+    private String resultKey;
+    private LocalDateTime bettingTimeStart;
+    private LocalDateTime bettingTimeEnd;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    
+    public static GameResponse fromGame(Game game) {
+        GameResponse response = new GameResponse(
+            game.getId(),
+            game.getTableId(),
+            game.getStatus(),
+            null,
+            null,
+            game.getResultHash(),
+            null,
+            game.getBettingTimeStart(),
+            game.getBettingTimeEnd(),
+            game.getStart(),
+            game.getEnd()
+        );
+        
+        if (game.getStatus() == GameStatus.FINISHED || 
+            game.getStatus() == GameStatus.SETTLED || 
+            game.getStatus() == GameStatus.CANCELLED) {
+            response.setWinningNumber(game.getWinningNumber());
+            response.setWinningColor(game.getWinningColor() != null ? game.getWinningColor().toString() : null);
+            response.setResultKey(game.getResultKey());
+        }
+        
+        return response;
+    }
+
+    public static GameResponse fromFinishedGame(FinishedGame game, GameStatus status) {
+        return new GameResponse(
+            game.getId(),
+            game.getTableId(),
+            status,
+            game.getWinningNumber(),
+            game.getWinningColor() != null ? game.getWinningColor().toString() : null,
+            game.getResultHash(),
+            game.getResultKey(),
+            game.getBettingTimeStart(),
+            game.getBettingTimeEnd(),
+            game.getStart(),
+            game.getEnd()
+        );
+    }
+}
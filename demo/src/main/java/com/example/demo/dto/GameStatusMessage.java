@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import com.example.demo.utils.GameStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameStatusMessage {
+
+    private Long gameId;
+    private GameStatus from;
+    private GameStatus to;
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import com.example.demo.utils.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementMessage {
+
+    private Long gameId;
+    private Integer winningNumber;
+    private long betsSettled;
+    private long winningBets;
+    private Money totalPaid;
+}
@@ -0,0 +1,40 @@
+package com.example.demo.dto;
+
+import com.example.demo.repository.projection.BetSummary;
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBetResponse {
+
+    private Long id;
+    private Long gameId;
+    private BetType betType;
+    private String betValue;
+    private Money amount;
+    private Money potentialPayout;
+    private Money winAmount;
+    private boolean settled;
+    private LocalDateTime createdAt;
+
+    public static UserBetResponse fromSummary(BetSummary bet) {
+        return new UserBetResponse(
+            bet.getId(),
+            bet.getGameId(),
+            bet.getBetType(),
+            bet.getBetValue(),
+            bet.getAmount(),
+            bet.getPotentialPayout(),
+            bet.getWinAmount(),
+            bet.isSettled(),
+            bet.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import com.example.demo.utils.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileResponse {
+
+    private Long id;
+    private String username;
+    private String email;
+    private Money balance;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.example.demo.dto;
+
+import com.example.demo.repository.projection.WalletEntry;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletTransactionResponse {
+
+    private Long id;
+    private Long sequenceNumber;
+    private TransactionType type;
+    private Money amount;
+    private Money balanceAfter;
+    private String referenceId;
+    private LocalDateTime createdAt;
+
+    public static WalletTransactionResponse fromEntry(WalletEntry entry) {
+        return new WalletTransactionResponse(
+            entry.getId(),
+            entry.getSequenceNumber(),
+            entry.getType(),
+            entry.getAmount(),
+            entry.getBalanceAfter(),
+            entry.getReferenceId(),
+            entry.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.events;
+
+import com.example.demo.utils.GameStatus;
+
+import java.util.List;
+
+public record GameStatusChangedEvent(List<Long> gameIds, GameStatus from, GameStatus to) {
+}
@@ -0,0 +1,8 @@
+package com.example.demo.events;
+
+import com.example.demo.models.Game;
+
+import java.util.List;
+
+public record GamesCreatedEvent(List<Game> games) {
+}
@@ -1,6 +1,5 @@
 package com.example.demo.models;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
@@ -13,12 +12,16 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import com.example.demo.utils.BetType;
+import com.example.demo.utils.Money;
 
 @Data
 @NoArgsConstructor
@@ -27,19 +30,24 @@ import com.example.demo.utils.BetType;
 public class Bet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bet_seq")
+    @SequenceGenerator(name = "bet_seq", sequenceName = "bet_seq", allocationSize = 50)
     private Long id;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userId", nullable = false)
     private User user;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "gameId", nullable = false)
     private Game game;
 
     @Column(nullable = false)
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -49,14 +57,17 @@ public class Bet {
     private String betValue;
 
     @Column
-    private BigDecimal potentialPayout;
+    private Money potentialPayout;
 
     @Column
-    private BigDecimal winAmount;
+    private Money winAmount;
 
     @Column(nullable = false)
     private boolean settled = false;
 
+    @Column(length = 64)
+    private String idempotencyKey;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
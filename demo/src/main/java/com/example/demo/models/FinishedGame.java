@@ -0,0 +1,56 @@
+package com.example.demo.models;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import com.example.demo.utils.RouletteColor;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "game")
+public class FinishedGame {
+
+    @Id
+    private Long id;
+
+    @Column
+    private String tableId;
+
+    @Column
+    private Integer winningNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column
+    private RouletteColor winningColor;
+
+    @Column
+    private String spinSeed;
+
+    @Column
+    private String resultHash;
+
+    @Column
+    private String resultKey;
+
+    @Column
+    private LocalDateTime bettingTimeStart;
+
+    @Column
+    private LocalDateTime bettingTimeEnd;
+
+    @Column
+    private LocalDateTime start;
+
+    @Column(name = "`end`")
+    private LocalDateTime end;
+}
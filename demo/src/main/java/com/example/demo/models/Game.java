@@ -8,6 +8,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -24,9 +25,13 @@ import com.example.demo.utils.RouletteColor;
 public class Game {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 50)
     private Long id;
 
+    @Column(nullable = false)
+    private String tableId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private GameStatus status;
@@ -56,7 +61,7 @@ public class Game {
     @Column
     private LocalDateTime start;
 
-    @Column
+    @Column(name = "`end`")
     private LocalDateTime end;
 
     @CreationTimestamp
@@ -0,0 +1,32 @@
+package com.example.demo.repository;
+
+import com.example.demo.models.Bet;
+import com.example.demo.repository.projection.BetSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BetRepository extends JpaRepository<Bet, Long> {
+
+    @Query("select b from Bet b where b.user.id = :userId and b.idempotencyKey = :key order by b.id")
+    List<Bet> findByIdempotencyKey(@Param("userId") Long userId, @Param("key") String key);
+
+    @Query("""
+            select b.id as id, b.game.id as gameId, b.betType as betType, b.betValue as betValue,
+                   b.amount as amount, b.potentialPayout as potentialPayout, b.winAmount as winAmount,
+                   b.settled as settled, b.createdAt as createdAt
+            from Bet b
+            where b.user.id = :userId
+              and (b.createdAt, b.id) < (:createdAt, :id)
+            order by b.createdAt desc, b.id desc""")
+    List<BetSummary> findByUserBefore(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+}
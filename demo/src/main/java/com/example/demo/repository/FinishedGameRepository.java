@@ -0,0 +1,29 @@
+package com.example.demo.repository;
+
+import com.example.demo.models.FinishedGame;
+import com.example.demo.repository.projection.GameHistoryKey;
+import com.example.demo.utils.GameStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@org.springframework.stereotype.Repository
+public interface FinishedGameRepository extends Repository<FinishedGame, Long> {
+
+    List<FinishedGame> findByIdIn(Collection<Long> ids);
+
+    @Query("""
+            select g.id as id, g.status as status, g.start as start from Game g
+            where g.status in :statuses
+              and (g.start, g.id) < (:start, :id)
+            order by g.start desc, g.id desc""")
+    List<GameHistoryKey> findHistoryBefore(@Param("statuses") Collection<GameStatus> statuses,
+                                           @Param("start") LocalDateTime start,
+                                           @Param("id") Long id,
+                                           Limit limit);
+}
@@ -1,8 +1,12 @@
 package com.example.demo.repository;
 
 import com.example.demo.models.Game;
+import com.example.demo.repository.projection.GameSlot;
 import com.example.demo.utils.GameStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -13,11 +17,36 @@ public interface GameRepository extends JpaRepository<Game, Long> {
 
     List<Game> findByStatus(GameStatus status);
 
-    List<Game> findByStatusAndBettingTimeStartBefore(GameStatus status, LocalDateTime time);
+    List<Game> findByStatusIn(List<GameStatus> statuses);
 
-    List<Game> findByStatusAndBettingTimeEndBefore(GameStatus status, LocalDateTime time);
+    @Query("select g.id from Game g where g.status = :status")
+    List<Long> findIdsByStatus(@Param("status") GameStatus status);
 
-    List<Game> findByStatusAndStartBefore(GameStatus status, LocalDateTime time);
+    List<Game> findByIdBetweenOrderByIdAsc(Long fromId, Long toId);
 
-    boolean existsByStartBetween(LocalDateTime start, LocalDateTime end);
+    @Query("select g.tableId as tableId, g.start as start from Game g where g.start between :from and :to")
+    List<GameSlot> findSlotsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("update Game g set g.status = :to, g.updatedAt = :now where g.id = :id and g.status = :from")
+    int updateStatus(@Param("id") Long id,
+                     @Param("from") GameStatus from,
+                     @Param("to") GameStatus to,
+                     @Param("now") LocalDateTime now);
+
+    @Query(value = "select id from game where status = :status and betting_time_start < :cutoff for update",
+            nativeQuery = true)
+    List<Long> lockIdsByBettingTimeStartBefore(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(value = "select id from game where status = :status and betting_time_end < :cutoff for update",
+            nativeQuery = true)
+    List<Long> lockIdsByBettingTimeEndBefore(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(value = "select id from game where status = :status and start < :cutoff for update",
+            nativeQuery = true)
+    List<Long> lockIdsByStartBefore(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(value = "select id from game where status = :status and \"end\" < :cutoff for update",
+            nativeQuery = true)
+    List<Long> lockIdsByEndBefore(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff);
 }
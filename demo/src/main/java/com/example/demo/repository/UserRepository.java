@@ -1,10 +1,18 @@
 package com.example.demo.repository;
 
 import com.example.demo.models.User;
+import com.example.demo.repository.projection.UserAccount;
+import com.example.demo.repository.projection.UserIdentity;
+import com.example.demo.repository.projection.UserProfile;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -15,7 +23,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsernameOrEmail(String username, String email);
 
+    @Query("""
+            select u.id as id, u.username as username, u.email as email, u.passwordHash as passwordHash,
+                   u.isAactive as active
+            from User u where u.username = :login or u.email = :login""")
+    Optional<UserAccount> findAccountByLogin(@Param("login") String login);
+
+    @Query("""
+            select u.id as id, u.username as username, u.email as email, u.passwordHash as passwordHash,
+                   u.isAactive as active
+            from User u where u.username = :username""")
+    Optional<UserAccount> findAccountByUsername(@Param("username") String username);
+
+    @Query("select u.id as id, u.username as username, u.email as email, u.createdAt as createdAt from User u where u.id = :id")
+    Optional<UserProfile> findProfileById(@Param("id") Long id);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select u.username as username, u.email as email from User u")
+    Stream<UserIdentity> streamAllIdentities();
 }
@@ -0,0 +1,32 @@
+package com.example.demo.repository;
+
+import com.example.demo.models.WalletTransaction;
+import com.example.demo.repository.projection.WalletEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Long> {
+
+    boolean existsByReferenceId(String referenceId);
+
+    @Query("select t.referenceId from WalletTransaction t where t.referenceId in :referenceIds")
+    List<String> findReferenceIdsIn(@Param("referenceIds") List<String> referenceIds);
+
+    List<WalletTransaction> findByReferenceIdIn(List<String> referenceIds);
+
+    @Query("""
+            select t.id as id, t.sequenceNumber as sequenceNumber, t.type as type, t.amount as amount,
+                   t.balanceAfter as balanceAfter, t.referenceId as referenceId, t.createdAt as createdAt
+            from WalletTransaction t
+            where t.user.id = :userId and t.sequenceNumber < :sequence
+            order by t.sequenceNumber desc""")
+    List<WalletEntry> findByUserBefore(@Param("userId") Long userId,
+                                       @Param("sequence") Long sequence,
+                                       Limit limit);
+}
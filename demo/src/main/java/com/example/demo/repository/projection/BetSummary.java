@@ -0,0 +1,27 @@
+package com.example.demo.repository.projection;
+
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.Money;
+
+import java.time.LocalDateTime;
+
+public interface BetSummary {
+
+    Long getId();
+
+    Long getGameId();
+
+    BetType getBetType();
+
+    String getBetValue();
+
+    Money getAmount();
+
+    Money getPotentialPayout();
+
+    Money getWinAmount();
+
+    boolean isSettled();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,14 @@
+package com.example.demo.repository.projection;
+
+import com.example.demo.utils.GameStatus;
+
+import java.time.LocalDateTime;
+
+public interface GameHistoryKey {
+
+    Long getId();
+
+    GameStatus getStatus();
+
+    LocalDateTime getStart();
+}
@@ -0,0 +1,10 @@
+package com.example.demo.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface GameSlot {
+
+    String getTableId();
+
+    LocalDateTime getStart();
+}
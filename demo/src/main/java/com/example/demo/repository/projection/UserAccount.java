@@ -0,0 +1,14 @@
+package com.example.demo.repository.projection;
+
+public interface UserAccount {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getPasswordHash();
+
+    boolean isActive();
+}
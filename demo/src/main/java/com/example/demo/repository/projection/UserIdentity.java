@@ -0,0 +1,8 @@
+package com.example.demo.repository.projection;
+
+public interface UserIdentity {
+
+    String getUsername();
+
+    String getEmail();
+}
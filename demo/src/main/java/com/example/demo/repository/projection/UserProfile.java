@@ -0,0 +1,14 @@
+package com.example.demo.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface UserProfile {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    LocalDateTime getCreatedAt();
+}
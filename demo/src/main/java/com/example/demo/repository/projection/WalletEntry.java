@@ -0,0 +1,23 @@
+package com.example.demo.repository.projection;
+
+import com.example.demo.utils.Money;
+import com.example.demo.utils.TransactionType;
+
+import java.time.LocalDateTime;
+
+public interface WalletEntry {
+
+    Long getId();
+
+    Long getSequenceNumber();
+
+    TransactionType getType();
+
+    Money getAmount();
+
+    Money getBalanceAfter();
+
+    String getReferenceId();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,281 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.config.GameTableProperties;
+import com.example.demo.events.GamesCreatedEvent;
+import com.example.demo.models.Game;
+import com.example.demo.repository.GameRepository;
+import com.example.demo.service.GameService;
+import com.example.demo.utils.GameStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameLifecycleEngine {
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private static final List<GameStatus> ACTIVE_STATUSES = List.of(
+            GameStatus.PLANNED,
+            GameStatus.BETTING_OPEN,
+            GameStatus.BETTING_CLOSED,
+            GameStatus.SPINNING
+    );
+
+    private final GameService gameService;
+    private final GameRepository gameRepository;
+
+    private final Map<GameStatus, TransitionLag> lagByStatus = createLagStats();
+
+    @Value("${app.games.lifecycle-workers:0}")
+    private int workerCount;
+
+    private LifecycleWorker[] workers;
+
+    @PostConstruct
+    public void init() {
+        int count = workerCount > 0 ? workerCount : Runtime.getRuntime().availableProcessors();
+        workers = new LifecycleWorker[count];
+        for (int i = 0; i < count; i++) {
+            workers[i] = new LifecycleWorker("game-lifecycle-" + i);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            int caughtUp = gameService.advanceOverdueGames();
+            if (caughtUp > 0) {
+                log.info("Caught up {} overdue game transitions", caughtUp);
+            }
+        } catch (Exception e) {
+            log.error("Error catching up overdue games", e);
+        }
+
+        List<Game> upcoming = gameRepository.findByStatusIn(ACTIVE_STATUSES);
+        upcoming.forEach(this::schedule);
+        log.info("Lifecycle engine armed {} games across {} workers", getPendingTransitions(), workers.length);
+
+        for (LifecycleWorker worker : workers) {
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (LifecycleWorker worker : workers) {
+            worker.stop();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesCreated(GamesCreatedEvent event) {
+        event.games().forEach(this::schedule);
+        log.debug("Armed transitions for {} new games", event.games().size());
+    }
+
+    public void schedule(Game game) {
+        GameTimeline timeline = GameTimeline.of(game);
+        if (timeline == null) {
+            log.warn("Game ID: {} is missing lifecycle times, not scheduling", game.getId());
+            return;
+        }
+        enqueueNext(timeline, game.getStatus());
+    }
+
+    public int getPendingTransitions() {
+        int pending = 0;
+        for (LifecycleWorker worker : workers) {
+            pending += worker.queue.size();
+        }
+        return pending;
+    }
+
+    public Map<GameStatus, TransitionLagSnapshot> getLagStats() {
+        Map<GameStatus, TransitionLagSnapshot> stats = new EnumMap<>(GameStatus.class);
+        lagByStatus.forEach((status, lag) -> stats.put(status, lag.snapshot()));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private void enqueueNext(GameTimeline timeline, GameStatus current) {
+        GameStatus next = nextStatus(current);
+        if (next != null) {
+            workerFor(timeline.tableId()).queue.put(
+                    new ScheduledTransition(timeline, current, next, timeline.dueAt(next)));
+        }
+    }
+
+    private LifecycleWorker workerFor(String tableId) {
+        return workers[Math.floorMod(tableId.hashCode(), workers.length)];
+    }
+
+    private static GameStatus nextStatus(GameStatus current) {
+        return switch (current) {
+            case PLANNED -> GameStatus.BETTING_OPEN;
+            case BETTING_OPEN -> GameStatus.BETTING_CLOSED;
+            case BETTING_CLOSED -> GameStatus.SPINNING;
+            case SPINNING -> GameStatus.FINISHED;
+            default -> null;
+        };
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Map<GameStatus, TransitionLag> createLagStats() {
+        Map<GameStatus, TransitionLag> stats = new EnumMap<>(GameStatus.class);
+        for (GameStatus status : GameStatus.values()) {
+            stats.put(status, new TransitionLag());
+        }
+        return stats;
+    }
+
+    public record TransitionLagSnapshot(long fired, long lastMs, long maxMs, double avgMs) {
+    }
+
+    private final class LifecycleWorker {
+        private final DelayQueue<ScheduledTransition> queue = new DelayQueue<>();
+        private final String name;
+        private volatile Thread thread;
+
+        LifecycleWorker(String name) {
+            this.name = name;
+        }
+
+        void start() {
+            thread = Thread.ofPlatform()
+                    .name(name)
+                    .daemon(true)
+                    .start(this::run);
+        }
+
+        void stop() {
+            Thread current = thread;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                ScheduledTransition transition;
+                try {
+                    transition = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                fire(transition);
+            }
+            log.info("Lifecycle worker {} stopped with {} pending transitions", name, queue.size());
+        }
+
+        private void fire(ScheduledTransition transition) {
+            long lateMs = System.currentTimeMillis() - transition.dueAtMillis();
+            try {
+                if (gameService.advanceGame(transition.gameId(), transition.from(), transition.to())) {
+                    lagByStatus.get(transition.to()).record(lateMs);
+                    log.debug("Game ID: {} moved to {} {} ms after plan",
+                            transition.gameId(), transition.to(), lateMs);
+                    enqueueNext(transition.timeline(), transition.to());
+                }
+            } catch (Exception e) {
+                log.error("Error moving game ID: {} to {}, retrying", transition.gameId(), transition.to(), e);
+                queue.put(transition.retryAt(System.currentTimeMillis() + RETRY_DELAY_MS));
+            }
+        }
+    }
+
+    private record GameTimeline(Long gameId, String tableId, long bettingStartMillis, long bettingEndMillis,
+                                long startMillis, long endMillis) {
+
+        static GameTimeline of(Game game) {
+            if (game.getBettingTimeStart() == null || game.getBettingTimeEnd() == null
+                    || game.getStart() == null || game.getEnd() == null) {
+                return null;
+            }
+            return new GameTimeline(
+                    game.getId(),
+                    game.getTableId() != null ? game.getTableId() : GameTableProperties.DEFAULT_TABLE_ID,
+                    toEpochMillis(game.getBettingTimeStart()),
+                    toEpochMillis(game.getBettingTimeEnd()),
+                    toEpochMillis(game.getStart()),
+                    toEpochMillis(game.getEnd())
+            );
+        }
+
+        long dueAt(GameStatus target) {
+            return switch (target) {
+                case BETTING_OPEN -> bettingStartMillis;
+                case BETTING_CLOSED -> bettingEndMillis;
+                case SPINNING -> startMillis;
+                default -> endMillis;
+            };
+        }
+    }
+
+    private record ScheduledTransition(GameTimeline timeline, GameStatus from, GameStatus to, long dueAtMillis)
+            implements Delayed {
+
+        Long gameId() {
+            return timeline.gameId();
+        }
+
+        ScheduledTransition retryAt(long millis) {
+            return new ScheduledTransition(timeline, from, to, millis);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            ScheduledTransition that = (ScheduledTransition) other;
+            int byTime = Long.compare(dueAtMillis, that.dueAtMillis);
+            return byTime != 0 ? byTime : from.compareTo(that.from);
+        }
+    }
+
+    private static final class TransitionLag {
+        private final LongAdder fired = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final AtomicLong lastMs = new AtomicLong();
+        private final AtomicLong maxMs = new AtomicLong();
+
+        void record(long lateMs) {
+            fired.increment();
+            totalMs.add(lateMs);
+            lastMs.set(lateMs);
+            maxMs.accumulateAndGet(lateMs, Math::max);
+        }
+
+        TransitionLagSnapshot snapshot() {
+            long count = fired.sum();
+            double avg = count == 0 ? 0 : (double) totalMs.sum() / count;
+            return new TransitionLagSnapshot(count, lastMs.get(), maxMs.get(), avg);
+        }
+    }
+}
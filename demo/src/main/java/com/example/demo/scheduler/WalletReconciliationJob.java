@@ -0,0 +1,361 @@
+package com.example.demo.scheduler;
+
+import com.example.demo.utils.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+@Slf4j
+public class WalletReconciliationJob {
+
+    private static final String USER_ID_BOUNDS = "select min(id) as low, max(id) as high from \"user\"";
+
+    private static final String STREAM_LEDGER = """
+            select t.user_id, t.sequence_number, t.amount, t.balance_after,
+                   s.sequence_number as snapshot_sequence, s.balance as snapshot_balance
+            from wallet_transaction t
+            left join wallet_snapshot s on s.user_id = t.user_id
+            where t.user_id between ? and ?
+            order by t.user_id, t.sequence_number""";
+
+    private static final String MATERIALIZED_MISMATCHES = """
+            select u.id, u.balance, coalesce(s.sequence_number, 0) as snapshot_sequence,
+                   coalesce(s.balance, 0) as snapshot_balance
+            from "user" u
+            left join wallet_snapshot s on s.user_id = u.id
+            where u.id between ? and ? and u.balance <> coalesce(s.balance, 0)""";
+
+    private static final int PACE_EVERY_ROWS = 1000;
+    private static final DateTimeFormatter REPORT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public enum MismatchKind {
+        SEQUENCE_GAP(false),
+        RUNNING_BALANCE(true),
+        NEGATIVE_BALANCE(true),
+        SNAPSHOT_BALANCE(true),
+        SNAPSHOT_AHEAD(false),
+        MATERIALIZED_BALANCE(true);
+
+        private final boolean money;
+
+        MismatchKind(boolean money) {
+            this.money = money;
+        }
+
+        String format(long value) {
+            return money ? Money.ofMinor(value).toString() : String.valueOf(value);
+        }
+    }
+
+    public record Result(long users, long rows, long mismatches, Path report, Duration took) {
+    }
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool pool;
+    private final long rangeSize;
+    private final long rowsPerSecond;
+    private final Path reportDir;
+    private final Map<MismatchKind, Counter> mismatchCounters = new EnumMap<>(MismatchKind.class);
+    private final Counter rowsCounter;
+    private final Timer runTimer;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong nextSlotNanos = new AtomicLong();
+
+    public WalletReconciliationJob(DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.wallet.reconciliation.parallelism:2}") int parallelism,
+                                   @Value("${app.wallet.reconciliation.range-size:10000}") long rangeSize,
+                                   @Value("${app.wallet.reconciliation.fetch-size:1000}") int fetchSize,
+                                   @Value("${app.wallet.reconciliation.max-rows-per-second:0}") long rowsPerSecond,
+                                   @Value("${app.wallet.reconciliation.report-dir:${java.io.tmpdir}}") Path reportDir) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rangeSize = rangeSize;
+        this.rowsPerSecond = rowsPerSecond;
+        this.reportDir = reportDir;
+
+        AtomicLong threadNumber = new AtomicLong();
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("wallet-reconciliation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+
+        for (MismatchKind kind : MismatchKind.values()) {
+            mismatchCounters.put(kind, Counter.builder("wallet.reconciliation.mismatches")
+                    .tag("kind", kind.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.rowsCounter = Counter.builder("wallet.reconciliation.rows").register(meterRegistry);
+        this.runTimer = Timer.builder("wallet.reconciliation.run").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Scheduled(cron = "${app.wallet.reconciliation.cron:-}")
+    public void reconcileOnSchedule() {
+        try {
+            run();
+        } catch (Exception e) {
+            log.error("Error reconciling wallets", e);
+        }
+    }
+
+    public Result run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Wallet reconciliation is already running");
+        }
+        long startedAt = System.nanoTime();
+        try (MismatchReport report = MismatchReport.open(reportDir)) {
+            RunTotals totals = new RunTotals();
+            Map<String, Object> bounds = streamingJdbcTemplate.queryForMap(USER_ID_BOUNDS);
+            if (bounds.get("low") != null) {
+                long low = ((Number) bounds.get("low")).longValue();
+                long high = ((Number) bounds.get("high")).longValue();
+                pool.invoke(new RangeTask(low, high, report, totals));
+            }
+
+            Duration took = Duration.ofNanos(System.nanoTime() - startedAt);
+            runTimer.record(took);
+            Result result = new Result(totals.users.sum(), totals.rows.sum(), totals.mismatches.sum(),
+                    report.path(), took);
+            log.info("Reconciled {} wallets ({} ledger rows) in {} ms, {} mismatches written to {}",
+                    result.users(), result.rows(), took.toMillis(), result.mismatches(), result.report());
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void reconcileRange(long fromUserId, long toUserId, MismatchReport report, RunTotals totals) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            LedgerWalk walk = new LedgerWalk(report, totals);
+            streamingJdbcTemplate.query(STREAM_LEDGER, walk, fromUserId, toUserId);
+            walk.finishUser();
+            walk.pace();
+
+            streamingJdbcTemplate.query(MATERIALIZED_MISMATCHES, (ResultSet rs) -> {
+                report(report, totals, MismatchKind.MATERIALIZED_BALANCE, rs.getLong("id"),
+                        rs.getLong("snapshot_sequence"), minor(rs, "snapshot_balance"), minor(rs, "balance"));
+            }, fromUserId, toUserId);
+        });
+    }
+
+    private void report(MismatchReport report, RunTotals totals, MismatchKind kind, long userId,
+                        long sequence, long expected, long actual) {
+        mismatchCounters.get(kind).increment();
+        totals.mismatches.increment();
+        report.write(kind, userId, sequence, expected, actual);
+    }
+
+    private void pace(int rows) {
+        rowsCounter.increment(rows);
+        if (rowsPerSecond <= 0) {
+            return;
+        }
+        long cost = rows * 1_000_000_000L / rowsPerSecond;
+        long now = System.nanoTime();
+        long slot = Math.max(nextSlotNanos.getAndAccumulate(cost, (next, step) -> Math.max(next, now) + step), now);
+        if (slot > now) {
+            LockSupport.parkNanos(this, slot - now);
+        }
+    }
+
+    private static long minor(ResultSet rs, String column) throws SQLException {
+        return Money.of(rs.getBigDecimal(column)).minor();
+    }
+
+    private final class RangeTask extends RecursiveAction {
+        private final long fromUserId;
+        private final long toUserId;
+        private final MismatchReport report;
+        private final RunTotals totals;
+
+        RangeTask(long fromUserId, long toUserId, MismatchReport report, RunTotals totals) {
+            this.fromUserId = fromUserId;
+            this.toUserId = toUserId;
+            this.report = report;
+            this.totals = totals;
+        }
+
+        @Override
+        protected void compute() {
+            if (toUserId - fromUserId < rangeSize) {
+                reconcileRange(fromUserId, toUserId, report, totals);
+                return;
+            }
+            long middle = fromUserId + (toUserId - fromUserId) / 2;
+            invokeAll(new RangeTask(fromUserId, middle, report, totals),
+                    new RangeTask(middle + 1, toUserId, report, totals));
+        }
+    }
+
+    private final class LedgerWalk implements RowCallbackHandler {
+        private final MismatchReport report;
+        private final RunTotals totals;
+        private int unpacedRows;
+
+        private long userId = -1;
+        private long sequence;
+        private long balance;
+        private long snapshotSequence;
+        private long snapshotBalance;
+
+        LedgerWalk(MismatchReport report, RunTotals totals) {
+            this.report = report;
+            this.totals = totals;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowUserId = rs.getLong("user_id");
+            long rowSequence = rs.getLong("sequence_number");
+            long amount = minor(rs, "amount");
+            long balanceAfter = minor(rs, "balance_after");
+
+            if (rowUserId != userId) {
+                finishUser();
+                userId = rowUserId;
+                sequence = 0;
+                balance = 0;
+                snapshotSequence = rs.getLong("snapshot_sequence");
+                boolean hasSnapshot = !rs.wasNull();
+                snapshotBalance = hasSnapshot ? minor(rs, "snapshot_balance") : 0;
+                if (!hasSnapshot) {
+                    snapshotSequence = -1;
+                } else if (snapshotSequence == 0 && snapshotBalance != 0) {
+                    report(report, totals, MismatchKind.SNAPSHOT_BALANCE, userId, 0, 0, snapshotBalance);
+                }
+            }
+
+            if (rowSequence != sequence + 1) {
+                report(report, totals, MismatchKind.SEQUENCE_GAP, userId, rowSequence, sequence + 1, rowSequence);
+            }
+            long expected = balance + amount;
+            if (expected != balanceAfter) {
+                report(report, totals, MismatchKind.RUNNING_BALANCE, userId, rowSequence, expected, balanceAfter);
+            }
+            if (balanceAfter < 0) {
+                report(report, totals, MismatchKind.NEGATIVE_BALANCE, userId, rowSequence, 0, balanceAfter);
+            }
+            if (rowSequence == snapshotSequence && balanceAfter != snapshotBalance) {
+                report(report, totals, MismatchKind.SNAPSHOT_BALANCE, userId, rowSequence, balanceAfter, snapshotBalance);
+            }
+            sequence = rowSequence;
+            balance = balanceAfter;
+
+            totals.rows.increment();
+            if (++unpacedRows == PACE_EVERY_ROWS) {
+                pace();
+            }
+        }
+
+        void finishUser() {
+            if (userId < 0) {
+                return;
+            }
+            if (snapshotSequence > sequence) {
+                report(report, totals, MismatchKind.SNAPSHOT_AHEAD, userId, snapshotSequence, sequence, snapshotSequence);
+            }
+            totals.users.increment();
+        }
+
+        void pace() {
+            if (unpacedRows > 0) {
+                WalletReconciliationJob.this.pace(unpacedRows);
+                unpacedRows = 0;
+            }
+        }
+    }
+
+    private static final class RunTotals {
+        private final LongAdder users = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder mismatches = new LongAdder();
+    }
+
+    private static final class MismatchReport implements AutoCloseable {
+        private final Path path;
+        private final BufferedWriter writer;
+
+        private MismatchReport(Path path, BufferedWriter writer) {
+            this.path = path;
+            this.writer = writer;
+        }
+
+        static MismatchReport open(Path dir) {
+            try {
+                Files.createDirectories(dir);
+                Path path = dir.resolve("wallet-reconciliation-" + LocalDateTime.now().format(REPORT_NAME) + ".csv");
+                BufferedWriter writer = Files.newBufferedWriter(path);
+                writer.write("kind,user_id,sequence_number,expected,actual");
+                writer.newLine();
+                return new MismatchReport(path, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open reconciliation report in " + dir, e);
+            }
+        }
+
+        Path path() {
+            return path;
+        }
+
+        synchronized void write(MismatchKind kind, long userId, long sequence, long expected, long actual) {
+            try {
+                writer.write(kind + "," + userId + "," + sequence + ","
+                        + kind.format(expected) + "," + kind.format(actual));
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write reconciliation report " + path, e);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close reconciliation report " + path, e);
+            }
+        }
+    }
+}
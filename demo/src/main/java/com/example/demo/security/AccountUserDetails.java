@@ -0,0 +1,19 @@
+package com.example.demo.security;
+
+import lombok.Getter;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+@Getter
+public class AccountUserDetails extends User {
+
+    private final Long id;
+    private final String email;
+
+    public AccountUserDetails(Long id, String username, String email, String password, boolean active) {
+        super(username, password, active, true, true, active, List.of());
+        this.id = id;
+        this.email = email;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.security;
+
+import com.example.demo.models.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserPrincipalInvalidator {
+
+    private final ObjectProvider<UserPrincipalCache> principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        principalCache.ifAvailable(cache -> cache.invalidate(user.getUsername()));
+    }
+}
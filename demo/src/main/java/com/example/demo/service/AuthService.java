@@ -4,6 +4,7 @@ import com.example.demo.dto.AuthResponse;
 import com.example.demo.dto.LoginRequest;
 import com.example.demo.dto.RegisterRequest;
 import com.example.demo.models.User;
+import com.example.demo.security.AccountUserDetails;
 import com.example.demo.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +20,7 @@ public class AuthService {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final WalletLedger walletLedger;
 
     public AuthResponse register(RegisterRequest registerRequest) {
         User user = userService.registerUser(
@@ -50,14 +52,13 @@ public class AuthService {
 
         String token = jwtTokenProvider.generateToken(authentication.getName());
 
-        User user = userService.findByUsernameOrEmail(loginRequest.getUsernameOrEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AccountUserDetails user = (AccountUserDetails) authentication.getPrincipal();
 
         return new AuthResponse(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
-                user.getBalance(),
+                walletLedger.balanceOf(user.getId()),
                 token
         );
     }
@@ -0,0 +1,150 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BetResponse;
+import com.example.demo.dto.PlaceBetRequest;
+import com.example.demo.models.Bet;
+import com.example.demo.models.Game;
+import com.example.demo.models.User;
+import com.example.demo.models.WalletTransaction;
+import com.example.demo.repository.BetRepository;
+import com.example.demo.repository.GameRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.WalletTransactionRepository;
+import com.example.demo.utils.BetSelection;
+import com.example.demo.utils.GameStatus;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@RequiredArgsConstructor
+public class BetLedgerWriter {
+
+    private final BetRepository betRepository;
+    private final UserRepository userRepository;
+    private final GameRepository gameRepository;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletLedger walletLedger;
+
+    public record Placement(List<BetResponse> bets, boolean replayed) {
+    }
+
+    public Placement place(Long userId, Long gameId, List<PlaceBetRequest> entries,
+                                   List<BetSelection> selections, String idempotencyKey) {
+        List<Money> stakes = entries.stream().map(entry -> Money.of(entry.getAmount())).toList();
+        long total = 0;
+        for (Money stake : stakes) {
+            total = Money.addExact(total, stake.minor());
+        }
+
+        List<Bet> bets = new ArrayList<>(entries.size());
+        AtomicReference<List<BetResponse>> replayed = new AtomicReference<>();
+        List<WalletTransaction> transactions = walletLedger.post(Map.of(userId, Money.ofMinor(total)), () -> {
+            bets.clear();
+            replayed.set(null);
+            if (idempotencyKey != null
+                    && walletTransactionRepository.existsByReferenceId(referenceId(userId, idempotencyKey, 0, null))) {
+                try {
+                    replayed.set(replay(userId, gameId, entries, idempotencyKey).orElseThrow(() ->
+                            new WalletLedger.PostingRejected("This Idempotency-Key was already used for a completed request")));
+                } catch (WalletLedger.PostingRejected e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    throw new WalletLedger.PostingRejected(e.getMessage());
+                }
+                return List.of();
+            }
+            Game game = gameRepository.findById(gameId)
+                    .filter(open -> open.getStatus() == GameStatus.BETTING_OPEN
+                            && open.getBettingTimeEnd().isAfter(LocalDateTime.now()))
+                    .orElseThrow(() -> new WalletLedger.PostingRejected("Betting is closed for this game"));
+            User user = userRepository.getReferenceById(userId);
+
+            for (int i = 0; i < entries.size(); i++) {
+                PlaceBetRequest entry = entries.get(i);
+                Bet bet = new Bet();
+                bet.setUser(user);
+                bet.setGame(game);
+                bet.setAmount(stakes.get(i));
+                bet.setBetType(entry.getBetType());
+                bet.setBetValue(entry.getBetValue());
+                bet.setPotentialPayout(selections.get(i).potentialPayout(stakes.get(i)));
+                bet.setIdempotencyKey(idempotencyKey);
+                bets.add(bet);
+            }
+            betRepository.saveAll(bets);
+
+            List<WalletLedger.Entry> debits = new ArrayList<>(bets.size());
+            for (int i = 0; i < bets.size(); i++) {
+                Bet bet = bets.get(i);
+                debits.add(new WalletLedger.Entry(userId, bet.getAmount().negate(), TransactionType.BET_PLACED,
+                        referenceId(userId, idempotencyKey, i, bet)));
+            }
+            return debits;
+        });
+        return replayed.get() != null
+                ? new Placement(replayed.get(), true)
+                : new Placement(responses(gameId, bets, transactions), false);
+    }
+
+    public Optional<List<BetResponse>> replay(Long userId, Long gameId, List<PlaceBetRequest> entries,
+                                              String idempotencyKey) {
+        List<Bet> bets = betRepository.findByIdempotencyKey(userId, idempotencyKey);
+        if (bets.isEmpty()) {
+            return Optional.empty();
+        }
+        if (bets.size() != entries.size()) {
+            throw new RuntimeException("Idempotency-Key was already used for a different request");
+        }
+
+        List<String> referenceIds = new ArrayList<>(bets.size());
+        for (int i = 0; i < bets.size(); i++) {
+            referenceIds.add(referenceId(userId, idempotencyKey, i, null));
+        }
+        Map<String, Money> balances = new HashMap<>();
+        for (WalletTransaction transaction : walletTransactionRepository.findByReferenceIdIn(referenceIds)) {
+            balances.put(transaction.getReferenceId(), transaction.getBalanceAfter());
+        }
+
+        List<BetResponse> placed = new ArrayList<>(bets.size());
+        for (int i = 0; i < bets.size(); i++) {
+            Bet bet = bets.get(i);
+            PlaceBetRequest entry = entries.get(i);
+            if (!bet.getGame().getId().equals(gameId)
+                    || bet.getBetType() != entry.getBetType()
+                    || !bet.getBetValue().equals(entry.getBetValue())
+                    || !bet.getAmount().equals(Money.of(entry.getAmount()))) {
+                throw new RuntimeException("Idempotency-Key was already used for a different request");
+            }
+            Money balanceAfter = balances.get(referenceIds.get(i));
+            if (balanceAfter == null) {
+                throw new IllegalStateException("Missing wallet transaction " + referenceIds.get(i));
+            }
+            placed.add(BetResponse.fromBet(bet, gameId, balanceAfter));
+        }
+        return Optional.of(placed);
+    }
+
+    private static String referenceId(Long userId, String idempotencyKey, int index, Bet bet) {
+        return idempotencyKey != null
+                ? "idem:" + userId + ":" + idempotencyKey + ":" + index
+                : "bet:" + bet.getId();
+    }
+
+    private static List<BetResponse> responses(Long gameId, List<Bet> bets, List<WalletTransaction> transactions) {
+        List<BetResponse> placed = new ArrayList<>(bets.size());
+        for (int i = 0; i < bets.size(); i++) {
+            placed.add(BetResponse.fromBet(bets.get(i), gameId, transactions.get(i).getBalanceAfter()));
+        }
+        return placed;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BetResponse;
+import com.example.demo.dto.BetSlipRequest;
+import com.example.demo.dto.BetSlipResponse;
+import com.example.demo.dto.GameResponse;
+import com.example.demo.dto.PlaceBetRequest;
+import com.example.demo.utils.BetSelection;
+import com.example.demo.utils.GameStatus;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.RouletteWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class BetService {
+
+    private final BetLedgerWriter betLedgerWriter;
+    private final GameSnapshotService gameSnapshotService;
+    private final ExposureTracker exposureTracker;
+    private final IdempotencyCache idempotencyCache;
+    private final int maxSlipSize;
+
+    public BetService(BetLedgerWriter betLedgerWriter,
+                      GameSnapshotService gameSnapshotService,
+                      ExposureTracker exposureTracker,
+                      IdempotencyCache idempotencyCache,
+                      @Value("${app.bets.max-slip-size:50}") int maxSlipSize) {
+        this.betLedgerWriter = betLedgerWriter;
+        this.gameSnapshotService = gameSnapshotService;
+        this.exposureTracker = exposureTracker;
+        this.idempotencyCache = idempotencyCache;
+        this.maxSlipSize = maxSlipSize;
+    }
+
+    public BetResponse placeBet(Long userId, Long gameId, PlaceBetRequest request, String idempotencyKey) {
+        return idempotencyCache.execute(userId, idempotencyKey, List.of("bet", gameId, request),
+                () -> place(userId, gameId, List.of(request), idempotencyKey).get(0));
+    }
+
+    public BetSlipResponse placeSlip(Long userId, Long gameId, BetSlipRequest slip, String idempotencyKey) {
+        List<PlaceBetRequest> entries = slip.getBets();
+        if (entries.size() > maxSlipSize) {
+            throw new RuntimeException("A slip can hold at most " + maxSlipSize + " bets");
+        }
+
+        return idempotencyCache.execute(userId, idempotencyKey, List.of("slip", gameId, entries), () -> {
+            List<BetResponse> placed = place(userId, gameId, entries, idempotencyKey);
+            Money total = Money.ZERO;
+            for (BetResponse bet : placed) {
+                total = total.plus(bet.getAmount());
+            }
+            return new BetSlipResponse(gameId, placed, total, placed.get(placed.size() - 1).getBalanceAfter());
+        });
+    }
+
+    private List<BetResponse> place(Long userId, Long gameId, List<PlaceBetRequest> entries, String idempotencyKey) {
+        List<BetSelection> selections = parseAll(entries);
+        if (idempotencyKey != null) {
+            Optional<List<BetResponse>> replayed = betLedgerWriter.replay(userId, gameId, entries, idempotencyKey);
+            if (replayed.isPresent()) {
+                return replayed.get();
+            }
+        }
+        requireOpen(gameId);
+        long[] exposure = exposureTracker.reserve(gameId, selections,
+                entries.stream().map(entry -> Money.of(entry.getAmount())).toList());
+
+        try {
+            BetLedgerWriter.Placement placement = betLedgerWriter.place(userId, gameId, entries, selections,
+                    idempotencyKey);
+            if (placement.replayed()) {
+                exposureTracker.release(gameId, exposure);
+            }
+            return placement.bets();
+        } catch (RuntimeException e) {
+            exposureTracker.release(gameId, exposure);
+            throw e;
+        }
+    }
+
+    private static List<BetSelection> parseAll(List<PlaceBetRequest> entries) {
+        List<BetSelection> selections = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            PlaceBetRequest entry = entries.get(i);
+            try {
+                selections.add(RouletteWheel.parse(entry.getBetType(), entry.getBetValue()));
+            } catch (IllegalArgumentException e) {
+                throw entries.size() == 1 ? e : new IllegalArgumentException("Bet " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        return selections;
+    }
+
+    private void requireOpen(Long gameId) {
+        GameResponse game = gameSnapshotService.findGame(GameStatus.BETTING_OPEN, gameId)
+                .orElseThrow(() -> new RuntimeException("Game is not open for betting"));
+        if (!game.getBettingTimeEnd().isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("Betting is closed for this game");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExposureResponse;
+import com.example.demo.events.GameStatusChangedEvent;
+import com.example.demo.utils.BetSelection;
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.GameStatus;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.RouletteWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Service
+@Slf4j
+public class ExposureTracker {
+
+    private static final String LOAD_OPEN_EXPOSURE = """
+            select b.game_id, b.bet_type, b.bet_value, sum(coalesce(b.potential_payout, 0)) as payout
+            from bet b join game g on g.id = b.game_id
+            where g.status in ('BETTING_OPEN', 'BETTING_CLOSED', 'SPINNING', 'FINISHED')
+              and b.settled = false
+            group by b.game_id, b.bet_type, b.bet_value""";
+
+    private static final String LOAD_OPEN_GAMES = "select id from game where status = 'BETTING_OPEN'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxPerNumberCents;
+    private final Map<Long, GameExposure> games = new ConcurrentHashMap<>();
+
+    public ExposureTracker(JdbcTemplate jdbcTemplate,
+                           @Value("${app.exposure.max-per-number:50000.00}") BigDecimal maxPerNumber) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPerNumberCents = Money.of(maxPerNumber).minor();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        games.clear();
+        jdbcTemplate.queryForList(LOAD_OPEN_GAMES, Long.class)
+                .forEach(id -> games.put(id, new GameExposure()));
+        jdbcTemplate.query(LOAD_OPEN_EXPOSURE, rs -> {
+            BetSelection selection = RouletteWheel.parse(BetType.valueOf(rs.getString("bet_type")), rs.getString("bet_value"));
+            games.computeIfAbsent(rs.getLong("game_id"), id -> new GameExposure())
+                    .add(selection.mask(), Money.of(rs.getBigDecimal("payout")).minor());
+        });
+        log.info("Rebuilt exposure for {} games", games.size());
+    }
+
+    public long[] reserve(Long gameId, List<BetSelection> selections, List<Money> stakes) {
+        long[] delta = new long[RouletteWheel.POCKETS];
+        for (int i = 0; i < selections.size(); i++) {
+            BetSelection selection = selections.get(i);
+            long payout = selection.potentialPayoutMinor(stakes.get(i).minor());
+            for (long mask = selection.mask(); mask != 0; mask &= mask - 1) {
+                delta[Long.numberOfTrailingZeros(mask)] += payout;
+            }
+        }
+
+        GameExposure exposure = games.get(gameId);
+        if (exposure == null) {
+            throw new RuntimeException("Game is not open for betting");
+        }
+        if (!exposure.tryAdd(delta, maxPerNumberCents)) {
+            throw new RuntimeException("Bet exceeds the table exposure limit");
+        }
+        return delta;
+    }
+
+    public void release(Long gameId, long[] delta) {
+        GameExposure exposure = games.get(gameId);
+        if (exposure != null) {
+            exposure.subtract(delta, RouletteWheel.POCKETS);
+        }
+    }
+
+    public Optional<ExposureResponse> getExposure(Long gameId) {
+        GameExposure exposure = games.get(gameId);
+        if (exposure == null) {
+            return Optional.empty();
+        }
+
+        List<Money> perNumber = new ArrayList<>(RouletteWheel.POCKETS);
+        long worst = 0;
+        Integer worstNumber = null;
+        for (int number = 0; number < RouletteWheel.POCKETS; number++) {
+            long cents = exposure.get(number);
+            perNumber.add(Money.ofMinor(cents));
+            if (cents > worst) {
+                worst = cents;
+                worstNumber = number;
+            }
+        }
+        return Optional.of(new ExposureResponse(gameId, Money.ofMinor(maxPerNumberCents),
+                Money.ofMinor(worst), worstNumber, perNumber));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(GameStatusChangedEvent event) {
+        if (event.to() == GameStatus.BETTING_OPEN) {
+            event.gameIds().forEach(id -> games.putIfAbsent(id, new GameExposure()));
+        } else if (event.to() == GameStatus.SETTLED || event.to() == GameStatus.CANCELLED) {
+            event.gameIds().forEach(games::remove);
+        }
+    }
+
+    private static final class GameExposure {
+        private static final int STRIDE = 8;
+
+        private final AtomicLongArray counters = new AtomicLongArray(RouletteWheel.POCKETS * STRIDE);
+
+        long get(int number) {
+            return counters.get(number * STRIDE);
+        }
+
+        void add(long mask, long cents) {
+            for (; mask != 0; mask &= mask - 1) {
+                counters.addAndGet(Long.numberOfTrailingZeros(mask) * STRIDE, cents);
+            }
+        }
+
+        boolean tryAdd(long[] delta, long limit) {
+            for (int number = 0; number < delta.length; number++) {
+                if (delta[number] != 0 && counters.addAndGet(number * STRIDE, delta[number]) > limit) {
+                    subtract(delta, number + 1);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void subtract(long[] delta, int upTo) {
+            for (int number = 0; number < upTo; number++) {
+                if (delta[number] != 0) {
+                    counters.addAndGet(number * STRIDE, -delta[number]);
+                }
+            }
+        }
+    }
+}
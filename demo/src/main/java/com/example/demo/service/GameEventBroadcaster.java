@@ -0,0 +1,155 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.GameResponse;
+import com.example.demo.dto.GameStatusMessage;
+import com.example.demo.events.GameStatusChangedEvent;
+import com.example.demo.repository.GameRepository;
+import com.example.demo.utils.GameStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameEventBroadcaster {
+
+    private final GameRepository gameRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.events.sse-timeout:PT30M}")
+    private Duration sseTimeout;
+
+    @Value("${app.events.max-backlog:256}")
+    private int maxBacklog;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(GameStatusChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        for (Long gameId : event.gameIds()) {
+            broadcast("status", new GameStatusMessage(gameId, event.from(), event.to()));
+        }
+
+        if (event.to() == GameStatus.FINISHED) {
+            gameRepository.findAllById(event.gameIds())
+                    .forEach(game -> broadcast("result", GameResponse.fromGame(game)));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.events.heartbeat:PT30S}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+            subscribers.forEach(subscriber -> subscriber.enqueue(ping));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    public void broadcast(String name, Object payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} event", name, e);
+            return;
+        }
+
+        Set<DataWithMediaType> event = SseEmitter.event()
+                .name(name)
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+        subscribers.forEach(subscriber -> subscriber.enqueue(event));
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<Set<DataWithMediaType>> backlog = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger backlogSize = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<DataWithMediaType> event) {
+            if (backlogSize.incrementAndGet() > maxBacklog) {
+                log.debug("Dropping slow SSE subscriber with {} queued events", backlogSize.get());
+                subscribers.remove(this);
+                emitter.complete();
+                return;
+            }
+
+            backlog.add(event);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> event;
+                while ((event = backlog.poll()) != null) {
+                    backlogSize.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        subscribers.remove(this);
+                        backlog.clear();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!backlog.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.GameHistoryResponse;
+import com.example.demo.dto.GameResponse;
+import com.example.demo.models.FinishedGame;
+import com.example.demo.repository.FinishedGameRepository;
+import com.example.demo.repository.projection.GameHistoryKey;
+import com.example.demo.utils.GameStatus;
+import com.example.demo.utils.KeysetCursor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class GameHistoryService {
+
+    private static final List<GameStatus> HISTORY_STATUSES = List.of(GameStatus.FINISHED, GameStatus.SETTLED);
+
+    private final FinishedGameRepository finishedGameRepository;
+    private final Cache<Long, FinishedGame> finishedGames;
+    private final int maxPageSize;
+
+    public GameHistoryService(FinishedGameRepository finishedGameRepository,
+                              @Value("${app.games.history.cache-size:100000}") long cacheSize,
+                              @Value("${app.games.history.max-page-size:200}") int maxPageSize) {
+        this.finishedGameRepository = finishedGameRepository;
+        this.finishedGames = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+        this.maxPageSize = maxPageSize;
+    }
+
+    public GameHistoryResponse getHistory(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        KeysetCursor from = KeysetCursor.decodeOrLatest(cursor);
+
+        List<GameHistoryKey> keys = finishedGameRepository.findHistoryBefore(
+                HISTORY_STATUSES, from.at(), from.id(), Limit.of(pageSize));
+        if (keys.isEmpty()) {
+            return new GameHistoryResponse(List.of(), null);
+        }
+
+        List<Long> ids = keys.stream().map(GameHistoryKey::getId).toList();
+        Map<Long, FinishedGame> games = finishedGames.getAll(ids, this::loadGames);
+
+        List<GameResponse> page = new ArrayList<>(keys.size());
+        for (GameHistoryKey key : keys) {
+            FinishedGame game = games.get(key.getId());
+            if (game != null) {
+                page.add(GameResponse.fromFinishedGame(game, key.getStatus()));
+            }
+        }
+
+        GameHistoryKey last = keys.get(keys.size() - 1);
+        String nextCursor = keys.size() == pageSize
+                ? new KeysetCursor(last.getStart(), last.getId()).encode()
+                : null;
+        return new GameHistoryResponse(page, nextCursor);
+    }
+
+    private Map<Long, FinishedGame> loadGames(Set<? extends Long> ids) {
+        return finishedGameRepository.findByIdIn(List.copyOf(ids)).stream()
+                .collect(Collectors.toMap(FinishedGame::getId, Function.identity()));
+    }
+}
@@ -1,163 +1,221 @@
 package com.example.demo.service;
 
+import com.example.demo.config.GameTableProperties;
+import com.example.demo.dto.FairnessVerificationResponse;
+import com.example.demo.events.GameStatusChangedEvent;
+import com.example.demo.events.GamesCreatedEvent;
 import com.example.demo.models.Game;
 import com.example.demo.repository.GameRepository;
+import com.example.demo.repository.projection.GameSlot;
 import com.example.demo.utils.GameStatus;
-import com.example.demo.utils.RouletteColor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GameService {
 
+    private static final Duration MAX_SLOT_TOLERANCE = Duration.ofSeconds(30);
+    private static final int MAX_VERIFIED_GAMES = 1000;
+
+    private static final String ADVANCE_GAME =
+            "update game set status = ?, updated_at = ? where id = ? and status = ?";
+
     private final GameRepository gameRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProvablyFairSeedPool seedPool;
+    private final GameTableProperties gameTableProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.games.horizon:PT24H}")
+    private Duration horizon;
 
     @Transactional
     public List<Game> generateDailyGames(LocalDateTime targetDate) {
-        log.info("Generating games starting from: {}", targetDate);
+        long startedAt = System.nanoTime();
+        LocalDateTime until = targetDate.plus(horizon);
 
-        List<Game> games = new ArrayList<>();
+        Map<String, NavigableSet<LocalDateTime>> existingStarts = new HashMap<>();
+        List<GameSlot> existingSlots = gameRepository.findSlotsBetween(
+            targetDate.minus(MAX_SLOT_TOLERANCE), until.plus(MAX_SLOT_TOLERANCE)
+        );
+        for (GameSlot slot : existingSlots) {
+            existingStarts.computeIfAbsent(slot.getTableId(), id -> new TreeSet<>()).add(slot.getStart());
+        }
 
-        for (int i = 0; i < 5; i++) {
-            LocalDateTime gameStart = targetDate.plusMinutes(i * 3L + 1);
-            
-            if (!gameRepository.existsByStartBetween(gameStart.minusSeconds(30), gameStart.plusSeconds(30))) {
-                Game game = createGame(gameStart);
-                games.add(gameRepository.save(game));
-                log.debug("Created game for time: {}", gameStart);
+        List<Game> games = new ArrayList<>();
+        for (GameTableProperties.Table table : gameTableProperties.tables()) {
+            NavigableSet<LocalDateTime> tableStarts = existingStarts.getOrDefault(table.id(), new TreeSet<>());
+            Duration tolerance = slotTolerance(table);
+
+            for (LocalDateTime slot = firstSlot(table, targetDate); !slot.isAfter(until); slot = slot.plus(table.cadence())) {
+                if (!isSlotTaken(tableStarts, slot, tolerance)) {
+                    games.add(createGame(table, slot));
+                }
             }
         }
 
-        log.info("Generated {} new games", games.size());
+        gameRepository.saveAll(games);
+        gameRepository.flush();
+
+        log.info("Generated {} new games for {} tables up to {} in {} ms ({} already planned)",
+                games.size(), gameTableProperties.tables().size(), until,
+                (System.nanoTime() - startedAt) / 1_000_000, existingSlots.size());
+        if (!games.isEmpty()) {
+            eventPublisher.publishEvent(new GamesCreatedEvent(games));
+        }
         return games;
     }
 
-    private Game createGame(LocalDateTime startTime) {
+    private LocalDateTime firstSlot(GameTableProperties.Table table, LocalDateTime from) {
+        long cadenceSeconds = table.cadence().toSeconds();
+        long earliest = from.plus(table.bettingWindow()).atZone(ZoneId.systemDefault()).toEpochSecond();
+        long aligned = Math.floorDiv(earliest + cadenceSeconds - 1, cadenceSeconds) * cadenceSeconds;
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(aligned), ZoneId.systemDefault());
+    }
+
+    private static Duration slotTolerance(GameTableProperties.Table table) {
+        Duration half = table.cadence().dividedBy(2);
+        return half.compareTo(MAX_SLOT_TOLERANCE) < 0 ? half : MAX_SLOT_TOLERANCE;
+    }
+
+    private static boolean isSlotTaken(NavigableSet<LocalDateTime> starts, LocalDateTime slot, Duration tolerance) {
+        LocalDateTime nearest = starts.ceiling(slot.minus(tolerance));
+        return nearest != null && !nearest.isAfter(slot.plus(tolerance));
+    }
+
+    private Game createGame(GameTableProperties.Table table, LocalDateTime startTime) {
         Game game = new Game();
+        game.setTableId(table.id());
         game.setStatus(GameStatus.PLANNED);
         
         generateProvablyFairResult(game);
         
-        game.setBettingTimeStart(startTime.minusMinutes(1));
+        game.setBettingTimeStart(startTime.minus(table.bettingWindow()));
         game.setBettingTimeEnd(startTime);
         game.setStart(startTime);
-        game.setEnd(startTime.plusMinutes(1));
+        game.setEnd(startTime.plus(table.spinDuration()));
         
         return game;
     }
 
     private void generateProvablyFairResult(Game game) {
-        try {
-            SecureRandom random = new SecureRandom();
-            
-            byte[] keyBytes = new byte[32];
-            random.nextBytes(keyBytes);
-            String key = Base64.getEncoder().encodeToString(keyBytes);
-            
-            int winningNumber = random.nextInt(37);
-            RouletteColor winningColor = determineRouletteColor(winningNumber);
-            
-            String result = winningNumber + ":" + winningColor + ":" + key;
-            
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(result.getBytes(StandardCharsets.UTF_8));
-            String hash = Base64.getEncoder().encodeToString(hashBytes);
-            
-            game.setWinningNumber(winningNumber);
-            game.setWinningColor(winningColor);
-            game.setResultKey(key);
-            game.setResultHash(hash);
-            
-            log.debug("Generated provably fair result - Number: {}, Color: {}, Hash: {}", 
-                     winningNumber, winningColor, hash.substring(0, 10) + "...");
-            
-        } catch (Exception e) {
-            log.error("Error generating provably fair result", e);
-            throw new RuntimeException("Failed to generate game result", e);
-        }
+        ProvablyFairSeedPool.FairResult result = seedPool.take();
+
+        game.setWinningNumber(result.winningNumber());
+        game.setWinningColor(result.winningColor());
+        game.setResultKey(result.resultKey());
+        game.setResultHash(result.resultHash());
+        game.setSpinSeed(result.spinSeed());
     }
 
-    private RouletteColor determineRouletteColor(int number) {
-        if (number == 0) {
-            return RouletteColor.GREEN;
-        }
-        
-        int[] redNumbers = {1, 3, 5, 7, 9, 12, 14, 16, 18, 19, 21, 23, 25, 27, 30, 32, 34, 36};
-        for (int red : redNumbers) {
-            if (number == red) {
-                return RouletteColor.RED;
-            }
+    @Transactional
+    public boolean advanceGame(Long gameId, GameStatus from, GameStatus to) {
+        LocalDateTime now = LocalDateTime.now();
+        if (gameRepository.updateStatus(gameId, from, to, now) == 0) {
+            log.debug("Game ID: {} is no longer {}, skipping move to {}", gameId, from, to);
+            return false;
         }
-        
-        return RouletteColor.BLACK;
+
+        log.info("Moved game ID: {} from {} to {} at {}", gameId, from, to, now);
+        eventPublisher.publishEvent(new GameStatusChangedEvent(List.of(gameId), from, to));
+        return true;
+    }
+
+    @Transactional
+    public int advanceOverdueGames() {
+        return openBetting().size()
+                + closeBetting().size()
+                + startGames().size()
+                + finishGames().size();
     }
 
     @Transactional
-    public void openBetting() {
+    public List<Long> openBetting() {
         LocalDateTime now = LocalDateTime.now();
-        List<Game> gamesToOpen = gameRepository.findByStatusAndBettingTimeStartBefore(
-            GameStatus.PLANNED, now
-        );
+        List<Long> due = gameRepository.lockIdsByBettingTimeStartBefore(GameStatus.PLANNED.name(), now);
+        List<Long> opened = transition(due, GameStatus.PLANNED, GameStatus.BETTING_OPEN, now);
 
-        for (Game game : gamesToOpen) {
-            game.setStatus(GameStatus.BETTING_OPEN);
-            gameRepository.save(game);
-            log.info("Opened betting for game ID: {} at {}", game.getId(), now);
+        if (!opened.isEmpty()) {
+            log.info("Opened betting for {} games at {}: {}", opened.size(), now, opened);
         }
+        publishStatusChange(opened, GameStatus.PLANNED, GameStatus.BETTING_OPEN);
+        return opened;
     }
 
     @Transactional
-    public void closeBetting() {
+    public List<Long> closeBetting() {
         LocalDateTime now = LocalDateTime.now();
-        List<Game> gamesToClose = gameRepository.findByStatusAndBettingTimeEndBefore(
-            GameStatus.BETTING_OPEN, now
-        );
+        List<Long> due = gameRepository.lockIdsByBettingTimeEndBefore(GameStatus.BETTING_OPEN.name(), now);
+        List<Long> closed = transition(due, GameStatus.BETTING_OPEN, GameStatus.BETTING_CLOSED, now);
 
-        for (Game game : gamesToClose) {
-            game.setStatus(GameStatus.BETTING_CLOSED);
-            gameRepository.save(game);
-            log.info("Closed betting for game ID: {} at {}", game.getId(), now);
+        if (!closed.isEmpty()) {
+            log.info("Closed betting for {} games at {}: {}", closed.size(), now, closed);
         }
+        publishStatusChange(closed, GameStatus.BETTING_OPEN, GameStatus.BETTING_CLOSED);
+        return closed;
     }
 
     @Transactional
-    public void startGames() {
+    public List<Long> startGames() {
         LocalDateTime now = LocalDateTime.now();
-        List<Game> gamesToStart = gameRepository.findByStatusAndStartBefore(
-            GameStatus.BETTING_CLOSED, now
-        );
+        List<Long> due = gameRepository.lockIdsByStartBefore(GameStatus.BETTING_CLOSED.name(), now);
+        List<Long> started = transition(due, GameStatus.BETTING_CLOSED, GameStatus.SPINNING, now);
 
-        for (Game game : gamesToStart) {
-            game.setStatus(GameStatus.SPINNING);
-            gameRepository.save(game);
-            log.info("Started game ID: {} at {} - Result: {} {}", 
-                    game.getId(), now, game.getWinningNumber(), game.getWinningColor());
+        if (!started.isEmpty()) {
+            log.info("Started {} games at {}: {}", started.size(), now, started);
         }
+        publishStatusChange(started, GameStatus.BETTING_CLOSED, GameStatus.SPINNING);
+        return started;
     }
 
     @Transactional
-    public void finishGames() {
+    public List<Long> finishGames() {
         LocalDateTime now = LocalDateTime.now();
-        List<Game> gamesToFinish = gameRepository.findByStatusAndStartBefore(
-            GameStatus.SPINNING, now.minusMinutes(1)
-        );
+        List<Long> due = gameRepository.lockIdsByEndBefore(GameStatus.SPINNING.name(), now);
+        List<Long> finished = transition(due, GameStatus.SPINNING, GameStatus.FINISHED, now);
 
-        for (Game game : gamesToFinish) {
-            game.setStatus(GameStatus.FINISHED);
-            gameRepository.save(game);
-            log.info("Finished game ID: {} - Revealed key for verification", game.getId());
+        if (!finished.isEmpty()) {
+            log.info("Finished {} games - Revealed keys for verification: {}", finished.size(), finished);
+        }
+        publishStatusChange(finished, GameStatus.SPINNING, GameStatus.FINISHED);
+        return finished;
+    }
+
+    private List<Long> transition(List<Long> due, GameStatus from, GameStatus to, LocalDateTime now) {
+        if (!due.isEmpty()) {
+            Timestamp at = Timestamp.valueOf(now);
+            jdbcTemplate.batchUpdate(ADVANCE_GAME, due, due.size(), (statement, gameId) -> {
+                statement.setString(1, to.name());
+                statement.setTimestamp(2, at);
+                statement.setLong(3, gameId);
+                statement.setString(4, from.name());
+            });
+        }
+        return due;
+    }
+
+    private void publishStatusChange(List<Long> gameIds, GameStatus from, GameStatus to) {
+        if (!gameIds.isEmpty()) {
+            eventPublisher.publishEvent(new GameStatusChangedEvent(gameIds, from, to));
         }
     }
 
@@ -168,4 +226,17 @@ public class GameService {
     public List<Game> getOpenGames() {
         return gameRepository.findByStatus(GameStatus.BETTING_OPEN);
     }
+
+    public FairnessVerificationResponse verifyChain(Long fromId, Long toId) {
+        if (toId - fromId >= MAX_VERIFIED_GAMES) {
+            throw new RuntimeException("Cannot verify more than " + MAX_VERIFIED_GAMES + " games at once");
+        }
+
+        List<Game> revealed = gameRepository.findByIdBetweenOrderByIdAsc(fromId, toId).stream()
+                .filter(game -> game.getStatus() == GameStatus.FINISHED || game.getStatus() == GameStatus.SETTLED)
+                .toList();
+        List<String> problems = seedPool.verifyChain(revealed);
+
+        return new FairnessVerificationResponse(fromId, toId, revealed.size(), problems.isEmpty(), problems);
+    }
 }
@@ -0,0 +1,132 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.GameResponse;
+import com.example.demo.events.GameStatusChangedEvent;
+import com.example.demo.events.GamesCreatedEvent;
+import com.example.demo.models.Game;
+import com.example.demo.repository.GameRepository;
+import com.example.demo.utils.GameStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameSnapshotService {
+
+    private final GameRepository gameRepository;
+    private final ObjectMapper objectMapper;
+
+    private final long epoch = System.currentTimeMillis();
+    private final Map<GameStatus, AtomicReference<StatusView>> views = createViews();
+
+    public record Snapshot(long version, String etag, byte[] json) {
+    }
+
+    private record StatusView(NavigableMap<Long, GameResponse> games, Snapshot snapshot) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        views.keySet().forEach(status -> {
+            List<Game> games = gameRepository.findByStatus(status);
+            NavigableMap<Long, GameResponse> loaded = new TreeMap<>();
+            games.forEach(game -> loaded.put(game.getId(), GameResponse.fromGame(game)));
+            publish(status, loaded);
+            log.info("Loaded {} {} games into snapshot", games.size(), status);
+        });
+    }
+
+    public Snapshot getSnapshot(GameStatus status) {
+        AtomicReference<StatusView> view = views.get(status);
+        if (view == null) {
+            throw new IllegalArgumentException("No snapshot kept for status " + status);
+        }
+        return view.get().snapshot();
+    }
+
+    public Optional<GameResponse> findGame(GameStatus status, Long gameId) {
+        AtomicReference<StatusView> view = views.get(status);
+        return view != null ? Optional.ofNullable(view.get().games().get(gameId)) : Optional.empty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGamesCreated(GamesCreatedEvent event) {
+        NavigableMap<Long, GameResponse> planned = new TreeMap<>(views.get(GameStatus.PLANNED).get().games());
+        event.games().forEach(game -> planned.put(game.getId(), GameResponse.fromGame(game)));
+        publish(GameStatus.PLANNED, planned);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStatusChanged(GameStatusChangedEvent event) {
+        NavigableMap<Long, GameResponse> source = copyOf(event.from());
+        NavigableMap<Long, GameResponse> target = copyOf(event.to());
+        List<Long> missing = new ArrayList<>();
+
+        for (Long gameId : event.gameIds()) {
+            GameResponse moved = source != null ? source.remove(gameId) : null;
+            if (target == null) {
+                continue;
+            }
+            if (moved != null) {
+                target.put(gameId, moved.withStatus(event.to()));
+            } else {
+                missing.add(gameId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            gameRepository.findAllById(missing).forEach(game -> target.put(game.getId(), GameResponse.fromGame(game)));
+        }
+        if (source != null) {
+            publish(event.from(), source);
+        }
+        if (target != null) {
+            publish(event.to(), target);
+        }
+    }
+
+    private NavigableMap<Long, GameResponse> copyOf(GameStatus status) {
+        AtomicReference<StatusView> view = views.get(status);
+        return view != null ? new TreeMap<>(view.get().games()) : null;
+    }
+
+    private void publish(GameStatus status, NavigableMap<Long, GameResponse> games) {
+        AtomicReference<StatusView> view = views.get(status);
+        long version = view.get().snapshot().version() + 1;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(games.values());
+            String etag = "\"" + status.name().toLowerCase() + "-" + epoch + "-" + version + "\"";
+            view.set(new StatusView(Collections.unmodifiableNavigableMap(games), new Snapshot(version, etag, json)));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize " + status + " games", e);
+        }
+    }
+
+    private Map<GameStatus, AtomicReference<StatusView>> createViews() {
+        Map<GameStatus, AtomicReference<StatusView>> created = new EnumMap<>(GameStatus.class);
+        for (GameStatus status : List.of(GameStatus.PLANNED, GameStatus.BETTING_OPEN)) {
+            String etag = "\"" + status.name().toLowerCase() + "-" + epoch + "-0\"";
+            created.put(status, new AtomicReference<>(new StatusView(Collections.emptyNavigableMap(),
+                    new Snapshot(0, etag, "[]".getBytes(StandardCharsets.UTF_8)))));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+@Component
+public class IdempotencyCache {
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final Cache<String, Attempt> attempts;
+
+    private record Attempt(Object fingerprint, CompletableFuture<Object> result) {
+    }
+
+    public IdempotencyCache(@Value("${app.idempotency.cache-size:100000}") long cacheSize,
+                            @Value("${app.idempotency.ttl:PT24H}") Duration ttl) {
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    private static void validate(String key) {
+        if (key == null) {
+            return;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x21 || c > 0x7e) {
+                throw new RuntimeException("Idempotency-Key must be printable ASCII");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Long userId, String key, Object fingerprint, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        validate(key);
+
+        String cacheKey = userId + ":" + key;
+        Attempt attempt = new Attempt(fingerprint, new CompletableFuture<>());
+        Attempt existing = attempts.asMap().putIfAbsent(cacheKey, attempt);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new RuntimeException("Idempotency-Key was already used for a different request");
+            }
+            return (T) join(existing.result());
+        }
+
+        try {
+            T result = action.get();
+            attempt.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            attempts.asMap().remove(cacheKey, attempt);
+            attempt.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
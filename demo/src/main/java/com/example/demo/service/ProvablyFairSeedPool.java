@@ -0,0 +1,227 @@
+package com.example.demo.service;
+
+import com.example.demo.models.Game;
+import com.example.demo.utils.RouletteColor;
+import com.example.demo.utils.RouletteWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+@Component
+@Slf4j
+public class ProvablyFairSeedPool {
+
+    private static final int KEY_LENGTH = 32;
+    private static final long UNBIASED_LIMIT = (1L << 32) / 37 * 37;
+
+    @Value("${app.games.seed-block-size:10000}")
+    private int blockSize;
+
+    @Value("${app.games.seed-ready-blocks:2}")
+    private int readyBlocks;
+
+    @Value("${app.games.result-salt:roulette}")
+    private String resultSalt;
+
+    private final ConcurrentLinkedQueue<FairResult> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger available = new AtomicInteger();
+    private final SecureRandom random = new SecureRandom();
+
+    private MessageDigest digest;
+    private Mac mac;
+    private volatile Thread producer;
+
+    public record FairResult(int winningNumber, RouletteColor winningColor, String resultKey,
+                             String resultHash, String chainAnchor, int chainIndex) {
+
+        public String spinSeed() {
+            return chainAnchor + ":" + chainIndex;
+        }
+    }
+
+    @PostConstruct
+    public void start() throws GeneralSecurityException {
+        digest = MessageDigest.getInstance("SHA-256");
+        mac = Mac.getInstance("HmacSHA256");
+        produceBlock();
+
+        producer = Thread.ofPlatform()
+                .name("seed-chain-producer")
+                .daemon(true)
+                .start(this::produceWhileRunning);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = producer;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    public FairResult take() {
+        FairResult result;
+        while ((result = pool.poll()) == null) {
+            log.warn("Seed pool drained, producing a block inline");
+            produceBlock();
+        }
+
+        if (available.decrementAndGet() < lowWaterMark()) {
+            LockSupport.unpark(producer);
+        }
+        return result;
+    }
+
+    public int getAvailable() {
+        return available.get();
+    }
+
+    public List<String> verifyChain(List<Game> games) {
+        List<String> problems = new ArrayList<>();
+        Game previous = null;
+
+        for (Game game : games) {
+            if (game.getResultKey() == null) {
+                problems.add("Game " + game.getId() + " has not revealed its key yet");
+                previous = null;
+                continue;
+            }
+
+            byte[] key = Base64.getDecoder().decode(game.getResultKey());
+            FairResult expected = deriveResult(key, game.getResultKey(), null, -1, newDigest(), newMac());
+
+            if (!expected.resultHash().equals(game.getResultHash())) {
+                problems.add("Game " + game.getId() + " result hash does not match its key");
+            }
+            if (!Objects.equals(expected.winningNumber(), game.getWinningNumber())) {
+                problems.add("Game " + game.getId() + " winning number does not follow from its key");
+            }
+
+            String[] seed = game.getSpinSeed() != null ? game.getSpinSeed().split(":") : new String[0];
+            String hashOfKey = Base64.getEncoder().encodeToString(newDigest().digest(key));
+
+            if (seed.length == 2 && "0".equals(seed[1]) && !seed[0].equals(hashOfKey)) {
+                problems.add("Game " + game.getId() + " key does not hash to its chain anchor");
+            }
+            if (previous != null && sameChain(previous, game) && !hashOfKey.equals(previous.getResultKey())) {
+                problems.add("Game " + game.getId() + " key does not hash to the key of game " + previous.getId());
+            }
+            previous = game;
+        }
+
+        return problems;
+    }
+
+    private void produceWhileRunning() {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (available.get() < lowWaterMark()) {
+                produceBlock();
+            } else {
+                LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+            }
+        }
+    }
+
+    private synchronized void produceBlock() {
+        long startedAt = System.nanoTime();
+        byte[][] chain = new byte[blockSize][];
+
+        byte[] link = new byte[KEY_LENGTH];
+        random.nextBytes(link);
+        for (int i = blockSize - 1; i >= 0; i--) {
+            chain[i] = link;
+            link = digest.digest(link);
+        }
+        String anchor = Base64.getEncoder().encodeToString(link);
+
+        List<FairResult> results = new ArrayList<>(blockSize);
+        for (int i = 0; i < blockSize; i++) {
+            String key = Base64.getEncoder().encodeToString(chain[i]);
+            results.add(deriveResult(chain[i], key, anchor, i, digest, mac));
+        }
+
+        pool.addAll(results);
+        available.addAndGet(blockSize);
+        log.debug("Produced seed chain block of {} in {} ms",
+                blockSize, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private FairResult deriveResult(byte[] key, String encodedKey, String anchor, int index,
+                                    MessageDigest digest, Mac mac) {
+        try {
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to generate game result", e);
+        }
+        byte[] entropy = mac.doFinal(resultSalt.getBytes(StandardCharsets.UTF_8));
+
+        int winningNumber = toRouletteNumber(entropy);
+        RouletteColor winningColor = RouletteWheel.colorOf(winningNumber);
+
+        String result = winningNumber + ":" + winningColor + ":" + encodedKey;
+        String hash = Base64.getEncoder().encodeToString(digest.digest(result.getBytes(StandardCharsets.UTF_8)));
+
+        return new FairResult(winningNumber, winningColor, encodedKey, hash, anchor, index);
+    }
+
+    private int lowWaterMark() {
+        return blockSize * readyBlocks;
+    }
+
+    private static boolean sameChain(Game previous, Game game) {
+        if (previous.getSpinSeed() == null || game.getSpinSeed() == null) {
+            return false;
+        }
+        String[] a = previous.getSpinSeed().split(":");
+        String[] b = game.getSpinSeed().split(":");
+        return a.length == 2 && b.length == 2 && a[0].equals(b[0])
+                && Integer.parseInt(b[1]) == Integer.parseInt(a[1]) + 1;
+    }
+
+    private static int toRouletteNumber(byte[] entropy) {
+        long value = 0;
+        for (int offset = 0; offset + 4 <= entropy.length; offset += 4) {
+            value = ((entropy[offset] & 0xFFL) << 24)
+                    | ((entropy[offset + 1] & 0xFFL) << 16)
+                    | ((entropy[offset + 2] & 0xFFL) << 8)
+                    | (entropy[offset + 3] & 0xFFL);
+            if (value < UNBIASED_LIMIT) {
+                break;
+            }
+        }
+        return (int) (value % 37);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Mac newMac() {
+        try {
+            return Mac.getInstance("HmacSHA256");
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SettlementMessage;
+import com.example.demo.events.GameStatusChangedEvent;
+import com.example.demo.models.Game;
+import com.example.demo.models.WalletTransaction;
+import com.example.demo.repository.GameRepository;
+import com.example.demo.repository.WalletTransactionRepository;
+import com.example.demo.utils.BetSelection;
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.GameStatus;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.RouletteWheel;
+import com.example.demo.utils.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+public class SettlementService {
+
+    private static final String SELECT_UNSETTLED = """
+            select id, user_id, amount, bet_type, bet_value, potential_payout from bet
+            where game_id = ? and settled = false and id > ? and id <= ?
+            order by id
+            fetch first ? rows only""";
+
+    private static final String UNSETTLED_ID_RANGE =
+            "select min(id) as low, max(id) as high from bet where game_id = ? and settled = false";
+
+    private static final String SETTLE_BET =
+            "update bet set settled = true, win_amount = ? where id = ? and settled = false";
+
+    private static final long NO_PAYOUT = -1;
+
+    private final GameRepository gameRepository;
+    private final GameService gameService;
+    private final GameEventBroadcaster gameEventBroadcaster;
+    private final WalletLedger walletLedger;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final int chunkSize;
+
+    private final ExecutorService partitionPool;
+    private final ExecutorService coordinators = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Timer settlementTimer;
+    private final Counter betsSettled;
+
+    public SettlementService(GameRepository gameRepository,
+                             GameService gameService,
+                             GameEventBroadcaster gameEventBroadcaster,
+                             WalletLedger walletLedger,
+                             WalletTransactionRepository walletTransactionRepository,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.settlement.workers:0}") int workers,
+                             @Value("${app.settlement.chunk-size:2000}") int chunkSize,
+                             @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+        this.gameRepository = gameRepository;
+        this.gameService = gameService;
+        this.gameEventBroadcaster = gameEventBroadcaster;
+        this.walletLedger = walletLedger;
+        this.walletTransactionRepository = walletTransactionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.partitions = Math.min(workers > 0 ? workers : Runtime.getRuntime().availableProcessors(),
+                Math.max(1, connectionPoolSize / 2));
+        this.chunkSize = chunkSize;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.partitionPool = Executors.newFixedThreadPool(partitions, runnable -> Thread.ofPlatform()
+                .name("settlement-" + threadNumber.incrementAndGet())
+                .daemon(true)
+                .unstarted(runnable));
+        this.settlementTimer = Timer.builder("settlement.game").register(meterRegistry);
+        this.betsSettled = Counter.builder("settlement.bets").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        partitionPool.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(GameStatusChangedEvent event) {
+        if (event.to() == GameStatus.FINISHED) {
+            event.gameIds().forEach(this::submit);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.settlement.sweep-interval:PT1M}", initialDelayString = "${app.settlement.sweep-interval:PT1M}")
+    public void settleFinishedGames() {
+        List<Long> finished = gameRepository.findIdsByStatus(GameStatus.FINISHED);
+        if (!finished.isEmpty()) {
+            log.info("Queueing {} finished games for settlement", finished.size());
+            finished.forEach(this::submit);
+        }
+    }
+
+    public void submit(Long gameId) {
+        if (!inFlight.add(gameId)) {
+            return;
+        }
+        coordinators.execute(() -> {
+            try {
+                settlementTimer.record(() -> settle(gameId));
+            } catch (Exception e) {
+                log.error("Error settling game ID: {}, will retry on next sweep", gameId, e);
+            } finally {
+                inFlight.remove(gameId);
+            }
+        });
+    }
+
+    private void settle(Long gameId) {
+        Game game = gameRepository.findById(gameId).orElse(null);
+        if (game == null || game.getStatus() != GameStatus.FINISHED) {
+            return;
+        }
+        if (game.getWinningNumber() == null) {
+            throw new IllegalStateException("Game ID: " + gameId + " finished without a winning number");
+        }
+
+        long startedAt = System.nanoTime();
+        int winningNumber = game.getWinningNumber();
+        PartitionTotals totals = new PartitionTotals();
+
+        Map<String, Object> range = jdbcTemplate.queryForMap(UNSETTLED_ID_RANGE, gameId);
+        if (range.get("low") != null) {
+            long low = ((Number) range.get("low")).longValue() - 1;
+            long high = ((Number) range.get("high")).longValue();
+            long span = Math.ceilDiv(high - low, partitions);
+
+            List<CompletableFuture<Void>> running = new ArrayList<>(partitions);
+            for (long from = low; from < high; from += span) {
+                long after = from;
+                long upTo = Math.min(from + span, high);
+                running.add(CompletableFuture.runAsync(
+                        () -> settlePartition(gameId, winningNumber, after, upTo, totals), partitionPool));
+            }
+            CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+        }
+
+        if (gameService.advanceGame(gameId, GameStatus.FINISHED, GameStatus.SETTLED)) {
+            log.info("Settled game ID: {} ({} bets, {} winning, {} paid) in {} ms",
+                    gameId, totals.bets.get(), totals.winners.get(), totals.paid(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            gameEventBroadcaster.broadcast("settled", new SettlementMessage(
+                    gameId, winningNumber, totals.bets.get(), totals.winners.get(), totals.paid()));
+        }
+    }
+
+    private void settlePartition(Long gameId, int winningNumber, long afterId, long upToId, PartitionTotals totals) {
+        long lastId = afterId;
+        while (true) {
+            List<PendingBet> chunk = jdbcTemplate.query(SELECT_UNSETTLED,
+                    (rs, rowNum) -> new PendingBet(
+                            rs.getLong("id"),
+                            rs.getLong("user_id"),
+                            Money.of(rs.getBigDecimal("amount")).minor(),
+                            BetType.valueOf(rs.getString("bet_type")),
+                            rs.getString("bet_value"),
+                            potentialPayout(rs.getBigDecimal("potential_payout"))),
+                    gameId, lastId, upToId, chunkSize);
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            settleChunk(chunk, winningNumber, totals);
+            betsSettled.increment(chunk.size());
+            lastId = chunk.get(chunk.size() - 1).id();
+        }
+    }
+
+    private void settleChunk(List<PendingBet> chunk, int winningNumber, PartitionTotals totals) {
+        List<Object[]> updates = new ArrayList<>(chunk.size());
+        long[] winAmounts = new long[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            PendingBet bet = chunk.get(i);
+            BetSelection selection = RouletteWheel.parse(bet.betType(), bet.betValue());
+            if (selection.covers(winningNumber)) {
+                winAmounts[i] = bet.potentialPayout() != NO_PAYOUT
+                        ? bet.potentialPayout()
+                        : selection.potentialPayoutMinor(bet.amount());
+            }
+            updates.add(new Object[]{Money.ofMinor(winAmounts[i]).toBigDecimal(), bet.id()});
+        }
+
+        List<WalletLedger.Entry> credits = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (winAmounts[i] > 0) {
+                PendingBet bet = chunk.get(i);
+                credits.add(new WalletLedger.Entry(bet.userId(), Money.ofMinor(winAmounts[i]),
+                        TransactionType.BET_WIN, "win:" + bet.id()));
+            }
+        }
+        // Credit before flipping settled, and outside any transaction: the writer needs a connection of its own,
+        // and win:<betId> keeps a re-run from paying twice.
+        List<WalletTransaction> credited = credits.isEmpty()
+                ? List.of()
+                : walletLedger.post(Map.of(), () -> unpaid(credits));
+        int[] updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(SETTLE_BET, updates));
+
+        for (int rows : updated) {
+            if (rows != 0) {
+                totals.bets.incrementAndGet();
+            }
+        }
+        for (WalletTransaction transaction : credited) {
+            totals.winners.incrementAndGet();
+            totals.paidCents.addAndGet(transaction.getAmount().minor());
+        }
+    }
+
+    private List<WalletLedger.Entry> unpaid(List<WalletLedger.Entry> credits) {
+        Set<String> paid = new HashSet<>(walletTransactionRepository.findReferenceIdsIn(
+                credits.stream().map(WalletLedger.Entry::referenceId).toList()));
+        return credits.stream()
+                .filter(credit -> !paid.contains(credit.referenceId()))
+                .toList();
+    }
+
+    private static long potentialPayout(BigDecimal amount) {
+        return amount != null ? Money.of(amount).minor() : NO_PAYOUT;
+    }
+
+    private record PendingBet(long id, long userId, long amount, BetType betType,
+                              String betValue, long potentialPayout) {
+    }
+
+    private static final class PartitionTotals {
+        private final AtomicLong bets = new AtomicLong();
+        private final AtomicLong winners = new AtomicLong();
+        private final AtomicLong paidCents = new AtomicLong();
+
+        Money paid() {
+            return Money.ofMinor(paidCents.get());
+        }
+    }
+}
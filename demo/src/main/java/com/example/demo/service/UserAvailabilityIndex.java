@@ -0,0 +1,75 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.projection.UserIdentity;
+import com.example.demo.utils.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserAvailabilityIndex {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.users.availability.expected-users:1000000}")
+    private long expectedUsers;
+
+    @Value("${app.users.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private BloomFilter usernames;
+    private BloomFilter emails;
+    private volatile boolean loaded;
+
+    @PostConstruct
+    public void init() {
+        usernames = BloomFilter.create(expectedUsers, falsePositiveRate);
+        emails = BloomFilter.create(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        AtomicLong count = new AtomicLong();
+
+        try (Stream<UserIdentity> identities = userRepository.streamAllIdentities()) {
+            identities.forEach(identity -> {
+                add(identity.getUsername(), identity.getEmail());
+                count.incrementAndGet();
+            });
+        }
+
+        loaded = true;
+        log.info("Loaded availability index with {} users", count.get());
+    }
+
+    public void add(String username, String email) {
+        usernames.put(username);
+        emails.put(email);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        if (loaded && !usernames.mightContain(username)) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        if (loaded && !emails.mightContain(email)) {
+            return true;
+        }
+        return !userRepository.existsByEmail(email);
+    }
+}
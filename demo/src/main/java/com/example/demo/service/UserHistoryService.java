@@ -0,0 +1,83 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.UserBetHistoryResponse;
+import com.example.demo.dto.UserBetResponse;
+import com.example.demo.dto.UserProfileResponse;
+import com.example.demo.dto.WalletHistoryResponse;
+import com.example.demo.dto.WalletTransactionResponse;
+import com.example.demo.repository.BetRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.WalletTransactionRepository;
+import com.example.demo.repository.projection.BetSummary;
+import com.example.demo.repository.projection.UserProfile;
+import com.example.demo.repository.projection.WalletEntry;
+import com.example.demo.utils.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class UserHistoryService {
+
+    private final UserRepository userRepository;
+    private final BetRepository betRepository;
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final WalletLedger walletLedger;
+    private final int maxPageSize;
+
+    public UserHistoryService(UserRepository userRepository,
+                              BetRepository betRepository,
+                              WalletTransactionRepository walletTransactionRepository,
+                              WalletLedger walletLedger,
+                              @Value("${app.users.history.max-page-size:100}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.betRepository = betRepository;
+        this.walletTransactionRepository = walletTransactionRepository;
+        this.walletLedger = walletLedger;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public UserProfileResponse getProfile(Long userId) {
+        UserProfile profile = userRepository.findProfileById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return new UserProfileResponse(profile.getId(), profile.getUsername(), profile.getEmail(),
+                walletLedger.balanceOf(userId), profile.getCreatedAt());
+    }
+
+    public UserBetHistoryResponse getBets(Long userId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        KeysetCursor from = KeysetCursor.decodeOrLatest(cursor);
+
+        List<BetSummary> bets = betRepository.findByUserBefore(userId, from.at(), from.id(), Limit.of(pageSize));
+        String nextCursor = null;
+        if (bets.size() == pageSize) {
+            BetSummary last = bets.get(bets.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new UserBetHistoryResponse(bets.stream().map(UserBetResponse::fromSummary).toList(), nextCursor);
+    }
+
+    public WalletHistoryResponse getTransactions(Long userId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        long before = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                before = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid history cursor");
+            }
+        }
+
+        List<WalletEntry> entries = walletTransactionRepository.findByUserBefore(userId, before, Limit.of(pageSize));
+        String nextCursor = entries.size() == pageSize
+                ? String.valueOf(entries.get(entries.size() - 1).getSequenceNumber())
+                : null;
+        return new WalletHistoryResponse(entries.stream().map(WalletTransactionResponse::fromEntry).toList(), nextCursor);
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+}
@@ -2,7 +2,13 @@ package com.example.demo.service;
 
 import com.example.demo.models.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.projection.UserAccount;
+import com.example.demo.security.AccountUserDetails;
+import com.example.demo.security.UserPrincipalCache;
+import com.example.demo.utils.Money;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,51 +16,90 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
 
+    private static final String USERNAME_TAKEN = "Username is already taken";
+    private static final String EMAIL_TAKEN = "Email is already registered";
+    private static final String USERNAME_CONSTRAINT = "uk_user_username";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache principalCache;
+    private final UserAvailabilityIndex availabilityIndex;
 
     @Override
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
+        UserAccount user = userRepository.findAccountByLogin(usernameOrEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPasswordHash())
-                .authorities(new ArrayList<>())
-                .accountExpired(false)
-                .accountLocked(!user.isAactive())
-                .credentialsExpired(false)
-                .disabled(!user.isAactive())
-                .build();
+        return buildUserDetails(user, user.getPasswordHash());
+    }
+
+    public UserDetails loadPrincipal(String username) {
+        return principalCache.get(username, key -> {
+            UserAccount user = userRepository.findAccountByUsername(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + key));
+            return buildUserDetails(user, "");
+        });
+    }
+
+    private UserDetails buildUserDetails(UserAccount user, String password) {
+        return new AccountUserDetails(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                password,
+                user.isActive()
+        );
     }
 
     @Transactional
     public User registerUser(String username, String email, String password) {
-        if (userRepository.existsByUsername(username)) {
-            throw new RuntimeException("Username is already taken");
+        if (!availabilityIndex.isUsernameAvailable(username)) {
+            throw new RuntimeException(USERNAME_TAKEN);
         }
 
-        if (userRepository.existsByEmail(email)) {
-            throw new RuntimeException("Email is already registered");
+        if (!availabilityIndex.isEmailAvailable(email)) {
+            throw new RuntimeException(EMAIL_TAKEN);
         }
 
         User user = new User();
         user.setUsername(username);
         user.setEmail(email);
         user.setPasswordHash(passwordEncoder.encode(password));
-        user.setBalance(BigDecimal.ZERO);
+        user.setBalance(Money.ZERO);
         user.setAactive(true);
 
-        return userRepository.save(user);
+        try {
+            User saved = userRepository.saveAndFlush(user);
+            availabilityIndex.add(username, email);
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException(violates(e, USERNAME_CONSTRAINT) ? USERNAME_TAKEN : EMAIL_TAKEN);
+        }
+    }
+
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint);
+            }
+        }
+        return false;
+    }
+
+    @Transactional
+    public User setActive(Long userId, boolean active) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        user.setAactive(active);
+        return user;
     }
 
     public Optional<User> findByUsername(String username) {
@@ -74,10 +119,10 @@ public class UserService implements UserDetailsService {
     }
 
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return !availabilityIndex.isUsernameAvailable(username);
     }
 
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return !availabilityIndex.isEmailAvailable(email);
     }
 }
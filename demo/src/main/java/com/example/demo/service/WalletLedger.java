@@ -0,0 +1,368 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.models.User;
+import com.example.demo.models.WalletTransaction;
+import com.example.demo.repository.WalletTransactionRepository;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.TransactionType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@Slf4j
+public class WalletLedger {
+
+    private static final String LOAD_SNAPSHOT =
+            "select balance, sequence_number from wallet_snapshot where user_id = ?";
+
+    private static final String LOAD_TAIL = """
+            select coalesce(sum(amount), 0) as total, coalesce(max(sequence_number), 0) as last_sequence
+            from wallet_transaction where user_id = ? and sequence_number > ?""";
+
+    private static final String UPSERT_SNAPSHOT = """
+            merge into wallet_snapshot s
+            using (select cast(? as bigint) as user_id, cast(? as bigint) as sequence_number,
+                          cast(? as numeric(38, 2)) as balance, cast(? as timestamp) as taken_at) v
+            on (s.user_id = v.user_id)
+            when matched and s.sequence_number < v.sequence_number then
+                update set sequence_number = v.sequence_number, balance = v.balance, taken_at = v.taken_at
+            when not matched then
+                insert (user_id, sequence_number, balance, taken_at)
+                values (v.user_id, v.sequence_number, v.balance, v.taken_at)""";
+
+    private static final String MATERIALIZE_BALANCE =
+            "update \"user\" set balance = ?, version = version + 1 where id = ?";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final WalletTransactionRepository walletTransactionRepository;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingPosting> queue;
+    private final int batchSize;
+    private final Duration postTimeout;
+    private final Cache<Long, Account> accounts;
+    private final Set<Long> unsnapshotted = ConcurrentHashMap.newKeySet();
+
+    private volatile Thread writer;
+
+    public record Entry(Long userId, Money amount, TransactionType type, String referenceId) {
+    }
+
+    @FunctionalInterface
+    public interface Posting {
+        List<Entry> write();
+    }
+
+    public static class PostingRejected extends RuntimeException {
+        public PostingRejected(String message) {
+            super(message);
+        }
+    }
+
+    private record Account(long balance, long sequence) {
+    }
+
+    private record PendingPosting(Map<Long, Money> requiredFunds, Posting posting,
+                                  CompletableFuture<List<WalletTransaction>> result) {
+    }
+
+    public WalletLedger(WalletTransactionRepository walletTransactionRepository,
+                        EntityManager entityManager,
+                        JdbcTemplate jdbcTemplate,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${app.wallet.queue-capacity:16384}") int queueCapacity,
+                        @Value("${app.wallet.batch-size:512}") int batchSize,
+                        @Value("${app.wallet.account-cache-size:100000}") long accountCacheSize,
+                        @Value("${app.wallet.post-timeout:PT10S}") Duration postTimeout) {
+        this.walletTransactionRepository = walletTransactionRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.postTimeout = postTimeout;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(accountCacheSize)
+                .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = Thread.ofPlatform()
+                .name("wallet-ledger-writer")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = writer;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    public List<WalletTransaction> post(Map<Long, Money> requiredFunds, Posting posting) {
+        return await(postAsync(requiredFunds, posting));
+    }
+
+    public CompletableFuture<List<WalletTransaction>> postAsync(Map<Long, Money> requiredFunds, Posting posting) {
+        Thread current = writer;
+        if (current == null || !current.isAlive()) {
+            throw new ServiceBusyException("Wallet is not available, please retry", 1);
+        }
+        PendingPosting pending = new PendingPosting(requiredFunds, posting, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new ServiceBusyException("Wallet is busy, please retry", 1);
+        }
+        return pending.result();
+    }
+
+    public List<WalletTransaction> await(CompletableFuture<List<WalletTransaction>> posting) {
+        try {
+            return join(posting.copy().orTimeout(postTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof TimeoutException)) {
+                throw e;
+            }
+        }
+        if (queue.removeIf(pending -> pending.result() == posting)) {
+            ServiceBusyException busy = new ServiceBusyException("Wallet is busy, please retry", 1);
+            posting.completeExceptionally(busy);
+            throw busy;
+        }
+        // The writer already took the posting, so it will commit or fail; the caller must not guess which.
+        return join(posting);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public Money balanceOf(Long userId) {
+        Account account = accounts.getIfPresent(userId);
+        return Money.ofMinor(account != null ? account.balance() : loadAccount(userId).balance());
+    }
+
+    @Scheduled(fixedDelayString = "${app.wallet.snapshot-interval:PT1M}")
+    public void snapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = new ArrayList<>(unsnapshotted);
+        if (due.isEmpty()) {
+            return;
+        }
+        due.forEach(unsnapshotted::remove);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> snapshots = new ArrayList<>(due.size());
+                List<Object[]> balances = new ArrayList<>(due.size());
+                for (Long userId : due) {
+                    Account account = cachedOrLoad(userId);
+                    snapshots.add(new Object[]{userId, account.sequence(), toDecimal(account.balance()), now});
+                    balances.add(new Object[]{toDecimal(account.balance()), userId});
+                }
+                jdbcTemplate.batchUpdate(UPSERT_SNAPSHOT, snapshots);
+                jdbcTemplate.batchUpdate(MATERIALIZE_BALANCE, balances);
+            });
+        } catch (RuntimeException e) {
+            unsnapshotted.addAll(due);
+            throw e;
+        }
+        log.debug("Snapshotted {} wallet balances", due.size());
+    }
+
+    private void run() {
+        List<PendingPosting> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+
+            try {
+                commit(batch);
+            } catch (Throwable e) {
+                log.error("Error committing {} wallet postings", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+
+        ServiceBusyException stopped = new ServiceBusyException("Wallet is shutting down", 1);
+        queue.forEach(pending -> pending.result().completeExceptionally(stopped));
+    }
+
+    private void commit(List<PendingPosting> batch) {
+        Map<Long, Account> staged = new HashMap<>();
+        try {
+            List<Outcome> outcomes = transactionTemplate.execute(status -> apply(batch, staged));
+            accounts.putAll(staged);
+            unsnapshotted.addAll(staged.keySet());
+            for (int i = 0; i < batch.size(); i++) {
+                outcomes.get(i).completeInto(batch.get(i).result());
+            }
+        } catch (RuntimeException e) {
+            accounts.invalidateAll(staged.keySet());
+            if (batch.size() == 1) {
+                commitAlone(batch.get(0), e);
+                return;
+            }
+            log.debug("Group commit of {} wallet postings failed, committing one by one", batch.size(), e);
+            for (PendingPosting pending : batch) {
+                commitAlone(pending, null);
+            }
+        }
+    }
+
+    private void commitAlone(PendingPosting pending, RuntimeException previous) {
+        RuntimeException failure = previous;
+        for (int attempt = previous == null ? 1 : 2; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (failure != null && !(failure instanceof DataIntegrityViolationException)) {
+                break;
+            }
+            Map<Long, Account> staged = new HashMap<>();
+            try {
+                Outcome outcome = transactionTemplate.execute(status -> apply(List.of(pending), staged)).get(0);
+                accounts.putAll(staged);
+                unsnapshotted.addAll(staged.keySet());
+                outcome.completeInto(pending.result());
+                return;
+            } catch (RuntimeException e) {
+                accounts.invalidateAll(staged.keySet());
+                failure = e;
+            }
+        }
+        pending.result().completeExceptionally(failure instanceof DataIntegrityViolationException
+                ? new ServiceBusyException("Wallet is busy, please retry", 1)
+                : failure);
+    }
+
+    private List<Outcome> apply(List<PendingPosting> batch, Map<Long, Account> staged) {
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        List<WalletTransaction> appended = new ArrayList<>();
+
+        for (PendingPosting pending : batch) {
+            if (!hasFunds(pending.requiredFunds(), staged)) {
+                outcomes.add(new Outcome(null, new RuntimeException("Insufficient balance")));
+                continue;
+            }
+
+            List<Entry> entries;
+            try {
+                entries = pending.posting().write();
+            } catch (PostingRejected e) {
+                outcomes.add(new Outcome(null, e));
+                continue;
+            }
+
+            List<WalletTransaction> transactions = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                Account account = staged.computeIfAbsent(entry.userId(), this::cachedOrLoad);
+                long balance = Money.addExact(account.balance(), entry.amount().minor());
+                if (balance < 0) {
+                    throw new IllegalStateException("Posting would overdraw user ID: " + entry.userId());
+                }
+                long sequence = account.sequence() + 1;
+                staged.put(entry.userId(), new Account(balance, sequence));
+
+                WalletTransaction transaction = new WalletTransaction();
+                transaction.setUser(entityManager.getReference(User.class, entry.userId()));
+                transaction.setAmount(entry.amount());
+                transaction.setBalanceAfter(Money.ofMinor(balance));
+                transaction.setSequenceNumber(sequence);
+                transaction.setType(entry.type());
+                transaction.setReferenceId(entry.referenceId());
+                transactions.add(transaction);
+            }
+            appended.addAll(transactions);
+            outcomes.add(new Outcome(transactions, null));
+        }
+
+        walletTransactionRepository.saveAll(appended);
+        walletTransactionRepository.flush();
+        return outcomes;
+    }
+
+    private boolean hasFunds(Map<Long, Money> requiredFunds, Map<Long, Account> staged) {
+        for (Map.Entry<Long, Money> required : requiredFunds.entrySet()) {
+            Account account = staged.computeIfAbsent(required.getKey(), this::cachedOrLoad);
+            if (account.balance() < required.getValue().minor()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Account cachedOrLoad(Long userId) {
+        Account cached = accounts.getIfPresent(userId);
+        return cached != null ? cached : loadAccount(userId);
+    }
+
+    private Account loadAccount(Long userId) {
+        List<Account> snapshot = jdbcTemplate.query(LOAD_SNAPSHOT,
+                (rs, rowNum) -> new Account(Money.of(rs.getBigDecimal("balance")).minor(), rs.getLong("sequence_number")),
+                userId);
+        Account base = snapshot.isEmpty() ? new Account(0, 0) : snapshot.get(0);
+
+        return jdbcTemplate.queryForObject(LOAD_TAIL,
+                (rs, rowNum) -> new Account(
+                        Money.addExact(base.balance(), Money.of(rs.getBigDecimal("total")).minor()),
+                        Math.max(base.sequence(), rs.getLong("last_sequence"))),
+                userId, base.sequence());
+    }
+
+    private static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, Money.SCALE);
+    }
+
+    private record Outcome(List<WalletTransaction> transactions, RuntimeException error) {
+
+        void completeInto(CompletableFuture<List<WalletTransaction>> result) {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(transactions);
+            }
+        }
+    }
+}
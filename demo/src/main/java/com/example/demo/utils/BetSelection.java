@@ -0,0 +1,16 @@
+package com.example.demo.utils;
+
+public record BetSelection(BetType betType, long mask, int payoutMultiplier) {
+
+    public boolean covers(int number) {
+        return (mask >>> number & 1L) != 0;
+    }
+
+    public Money potentialPayout(Money stake) {
+        return Money.ofMinor(potentialPayoutMinor(stake.minor()));
+    }
+
+    public long potentialPayoutMinor(long stakeMinor) {
+        return Money.multiplyExact(stakeMinor, payoutMultiplier + 1L);
+    }
+}
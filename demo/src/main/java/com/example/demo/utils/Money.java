@@ -0,0 +1,81 @@
+package com.example.demo.utils;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public record Money(long minor) implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        try {
+            return ofMinor(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " is not a whole number of cents", e);
+        }
+    }
+
+    public static Money parse(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public static long addExact(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtractExact(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long multiplyExact(long minor, long factor) {
+        return Math.multiplyExact(minor, factor);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(subtractExact(minor, other.minor));
+    }
+
+    public Money times(long factor) {
+        return ofMinor(multiplyExact(minor, factor));
+    }
+
+    public Money negate() {
+        return ofMinor(subtractExact(0, minor));
+    }
+
+    public int signum() {
+        return Long.signum(minor);
+    }
+
+    public boolean isLessThan(Money other) {
+        return minor < other.minor;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.demo.utils;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+public final class RouletteWheel {
+
+    public static final int POCKETS = 37;
+
+    private static final int[] RED_NUMBERS = {1, 3, 5, 7, 9, 12, 14, 16, 18, 19, 21, 23, 25, 27, 30, 32, 34, 36};
+
+    private static final RouletteColor[] COLORS = new RouletteColor[POCKETS];
+    private static final long RED;
+    private static final long BLACK;
+    private static final long EVEN;
+    private static final long ODD;
+    private static final long LOW;
+    private static final long HIGH;
+    private static final long[] COLUMNS = new long[3];
+    private static final long[] DOZENS = new long[3];
+
+    private static final Map<BetType, Integer> PAYOUTS = new EnumMap<>(BetType.class);
+    private static final Map<BetType, long[]> INSIDE_BETS = new EnumMap<>(BetType.class);
+
+    static {
+        long red = 0;
+        for (int number : RED_NUMBERS) {
+            red |= bit(number);
+        }
+
+        long even = 0;
+        long low = 0;
+        for (int number = 1; number < POCKETS; number++) {
+            if (number % 2 == 0) {
+                even |= bit(number);
+            }
+            if (number <= 18) {
+                low |= bit(number);
+            }
+            COLUMNS[(number - 1) % 3] |= bit(number);
+            DOZENS[(number - 1) / 12] |= bit(number);
+        }
+
+        long numbers = bit(POCKETS) - 2;
+        RED = red;
+        BLACK = numbers & ~red;
+        EVEN = even;
+        ODD = numbers & ~even;
+        LOW = low;
+        HIGH = numbers & ~low;
+
+        COLORS[0] = RouletteColor.GREEN;
+        for (int number = 1; number < POCKETS; number++) {
+            COLORS[number] = (RED & bit(number)) != 0 ? RouletteColor.RED : RouletteColor.BLACK;
+        }
+
+        PAYOUTS.put(BetType.STRAIGHT, 35);
+        PAYOUTS.put(BetType.SPLIT, 17);
+        PAYOUTS.put(BetType.STREET, 11);
+        PAYOUTS.put(BetType.CORNER, 8);
+        PAYOUTS.put(BetType.LINE, 5);
+        PAYOUTS.put(BetType.COLUMN, 2);
+        PAYOUTS.put(BetType.DOZEN, 2);
+        PAYOUTS.put(BetType.COLOR, 1);
+        PAYOUTS.put(BetType.PARITY, 1);
+        PAYOUTS.put(BetType.HALF, 1);
+
+        INSIDE_BETS.put(BetType.STRAIGHT, straights());
+        INSIDE_BETS.put(BetType.SPLIT, splits());
+        INSIDE_BETS.put(BetType.STREET, streets());
+        INSIDE_BETS.put(BetType.CORNER, corners());
+        INSIDE_BETS.put(BetType.LINE, lines());
+    }
+
+    private RouletteWheel() {
+    }
+
+    public static RouletteColor colorOf(int number) {
+        return COLORS[number];
+    }
+
+    public static int payoutMultiplier(BetType betType) {
+        return PAYOUTS.get(betType);
+    }
+
+    public static BetSelection parse(BetType betType, String betValue) {
+        if (betType == null || betValue == null || betValue.isBlank()) {
+            throw new IllegalArgumentException("Bet type and value are required");
+        }
+
+        String value = betValue.trim().toUpperCase(Locale.ROOT);
+        long mask = switch (betType) {
+            case STRAIGHT, SPLIT, STREET, CORNER, LINE -> insideMask(betType, value);
+            case COLUMN -> COLUMNS[sectionIndex(betType, value)];
+            case DOZEN -> DOZENS[sectionIndex(betType, value)];
+            case COLOR -> switch (value) {
+                case "RED" -> RED;
+                case "BLACK" -> BLACK;
+                default -> throw invalid(betType, betValue);
+            };
+            case PARITY -> switch (value) {
+                case "EVEN" -> EVEN;
+                case "ODD" -> ODD;
+                default -> throw invalid(betType, betValue);
+            };
+            case HALF -> switch (value) {
+                case "LOW", "1-18" -> LOW;
+                case "HIGH", "19-36" -> HIGH;
+                default -> throw invalid(betType, betValue);
+            };
+        };
+
+        return new BetSelection(betType, mask, payoutMultiplier(betType));
+    }
+
+    private static long insideMask(BetType betType, String value) {
+        int end = value.length();
+        while (end > 0 && isSeparator(value.charAt(end - 1))) {
+            end--;
+        }
+
+        long mask = 0;
+        int start = 0;
+        for (int i = 0; i <= end; i++) {
+            if (i == end || isSeparator(value.charAt(i))) {
+                int number = parseNumber(betType, value.substring(start, i));
+                if ((mask & bit(number)) != 0) {
+                    throw invalid(betType, value);
+                }
+                mask |= bit(number);
+                start = i + 1;
+            }
+        }
+
+        if (Arrays.binarySearch(INSIDE_BETS.get(betType), mask) < 0) {
+            throw invalid(betType, value);
+        }
+        return mask;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '-' || c == ',';
+    }
+
+    private static int sectionIndex(BetType betType, String value) {
+        return switch (value) {
+            case "1" -> 0;
+            case "2" -> 1;
+            case "3" -> 2;
+            default -> throw invalid(betType, value);
+        };
+    }
+
+    private static int parseNumber(BetType betType, String part) {
+        try {
+            int number = Integer.parseInt(part.trim());
+            if (number >= 0 && number < POCKETS) {
+                return number;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw invalid(betType, part);
+    }
+
+    private static IllegalArgumentException invalid(BetType betType, String value) {
+        return new IllegalArgumentException("Invalid " + betType + " bet value: " + value);
+    }
+
+    private static long bit(int number) {
+        return 1L << number;
+    }
+
+    private static long[] straights() {
+        long[] masks = new long[POCKETS];
+        for (int number = 0; number < POCKETS; number++) {
+            masks[number] = bit(number);
+        }
+        return sorted(masks);
+    }
+
+    private static long[] splits() {
+        long[] masks = new long[60];
+        int count = 0;
+        masks[count++] = bit(0) | bit(1);
+        masks[count++] = bit(0) | bit(2);
+        masks[count++] = bit(0) | bit(3);
+        for (int number = 1; number < POCKETS; number++) {
+            if (number % 3 != 0) {
+                masks[count++] = bit(number) | bit(number + 1);
+            }
+            if (number <= 33) {
+                masks[count++] = bit(number) | bit(number + 3);
+            }
+        }
+        return sorted(Arrays.copyOf(masks, count));
+    }
+
+    private static long[] streets() {
+        long[] masks = new long[14];
+        int count = 0;
+        masks[count++] = bit(0) | bit(1) | bit(2);
+        masks[count++] = bit(0) | bit(2) | bit(3);
+        for (int row = 1; row < POCKETS; row += 3) {
+            masks[count++] = bit(row) | bit(row + 1) | bit(row + 2);
+        }
+        return sorted(masks);
+    }
+
+    private static long[] corners() {
+        long[] masks = new long[23];
+        int count = 0;
+        masks[count++] = bit(0) | bit(1) | bit(2) | bit(3);
+        for (int number = 1; number <= 32; number++) {
+            if (number % 3 != 0) {
+                masks[count++] = bit(number) | bit(number + 1) | bit(number + 3) | bit(number + 4);
+            }
+        }
+        return sorted(masks);
+    }
+
+    private static long[] lines() {
+        long[] masks = new long[11];
+        int count = 0;
+        for (int row = 1; row <= 31; row += 3) {
+            masks[count++] = (bit(6) - 1) << row;
+        }
+        return sorted(masks);
+    }
+
+    private static long[] sorted(long[] masks) {
+        Arrays.sort(masks);
+        return masks;
+    }
+}
@@ -6,5 +6,6 @@ public enum TransactionType {
     BET_PLACED,
     BET_WIN,
     REFUND,
-    BONUS
+    BONUS,
+    OPENING
 }
@@ -0,0 +1,88 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class V1_1__upgrade_hibernate_schema extends BaseJavaMigration {
+
+    private static final String DEFAULT_TABLE_ID = "main";
+
+    private static final String COLUMN_EXISTS = """
+            select count(*) from information_schema.columns
+            where table_schema = current_schema and lower(table_name) = ? and lower(column_name) = ?""";
+
+    private static final String UNIQUE_CONSTRAINTS = """
+            select tc.constraint_name
+            from information_schema.table_constraints tc
+            join information_schema.key_column_usage k
+              on k.constraint_schema = tc.constraint_schema and k.constraint_name = tc.constraint_name
+            where tc.table_schema = current_schema and lower(tc.table_name) = ?
+              and tc.constraint_type = 'UNIQUE' and lower(k.column_name) = ?""";
+
+    private static final Map<String, String> ENUM_CHECKS = Map.of(
+            "game_status_check", "game",
+            "game_winning_color_check", "game",
+            "bet_bet_type_check", "bet",
+            "wallet_transaction_type_check", "wallet_transaction"
+    );
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            if (!columnExists(connection, "game", "table_id")) {
+                statement.execute("alter table game add column table_id varchar(64)");
+                statement.execute("update game set table_id = '" + DEFAULT_TABLE_ID + "'");
+                statement.execute("alter table game alter column table_id set not null");
+            }
+
+            nameUniqueConstraint(connection, statement, "user", "username", "uk_user_username");
+            nameUniqueConstraint(connection, statement, "user", "email", "uk_user_email");
+
+            for (Map.Entry<String, String> check : ENUM_CHECKS.entrySet()) {
+                statement.execute("alter table " + check.getValue() + " drop constraint if exists " + check.getKey());
+            }
+        }
+    }
+
+    private static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(COLUMN_EXISTS)) {
+            query.setString(1, table);
+            query.setString(2, column);
+            try (ResultSet rows = query.executeQuery()) {
+                rows.next();
+                return rows.getLong(1) > 0;
+            }
+        }
+    }
+
+    private static void nameUniqueConstraint(Connection connection, Statement statement, String table, String column,
+                                             String name) throws SQLException {
+        List<String> existing = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(UNIQUE_CONSTRAINTS)) {
+            query.setString(1, table);
+            query.setString(2, column);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    existing.add(rows.getString(1));
+                }
+            }
+        }
+        if (existing.stream().anyMatch(name::equalsIgnoreCase)) {
+            return;
+        }
+        for (String generated : existing) {
+            statement.execute("alter table \"" + table + "\" drop constraint \"" + generated + "\"");
+        }
+        statement.execute("alter table \"" + table + "\" add constraint " + name + " unique (" + column + ")");
+    }
+}
@@ -0,0 +1,44 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+public class V9__restart_id_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "user_seq", "\"user\"",
+            "game_seq", "game",
+            "bet_seq", "bet",
+            "wallet_transaction_seq", "wallet_transaction"
+    );
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (Map.Entry<String, String> sequence : SEQUENCES.entrySet()) {
+                statement.execute("create sequence if not exists " + sequence.getKey()
+                        + " start with 1 increment by " + ALLOCATION_SIZE);
+
+                long maxId = maxId(statement, sequence.getValue());
+                if (maxId > 0) {
+                    statement.execute("alter sequence " + sequence.getKey()
+                            + " restart with " + (maxId + ALLOCATION_SIZE));
+                }
+            }
+        }
+    }
+
+    private static long maxId(Statement statement, String table) throws SQLException {
+        try (ResultSet rows = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+}
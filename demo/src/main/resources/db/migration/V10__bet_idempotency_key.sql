@@ -0,0 +1,2 @@
+alter table bet add column idempotency_key varchar(64);
+create index idx_bet_user_idempotency_key on bet (user_id, idempotency_key);
@@ -0,0 +1,64 @@
+create sequence if not exists user_seq start with 1 increment by 50;
+create sequence if not exists game_seq start with 1 increment by 50;
+create sequence if not exists bet_seq start with 1 increment by 50;
+create sequence if not exists wallet_transaction_seq start with 1 increment by 50;
+
+create table if not exists "user" (
+    id              bigint         not null,
+    username        varchar(255)   not null,
+    email           varchar(255)   not null,
+    password_hash   varchar(255)   not null,
+    balance         numeric(38, 2) not null,
+    is_aactive      boolean        not null,
+    created_at      timestamp(6),
+    updated_at      timestamp(6),
+    constraint pk_user primary key (id),
+    constraint uk_user_username unique (username),
+    constraint uk_user_email unique (email)
+);
+
+create table if not exists game (
+    id                 bigint       not null,
+    table_id           varchar(64)  not null,
+    status             varchar(32)  not null,
+    winning_number     integer,
+    winning_color      varchar(16),
+    spin_seed          varchar(255),
+    result_hash        varchar(255),
+    result_key         varchar(255),
+    betting_time_start timestamp(6),
+    betting_time_end   timestamp(6),
+    start              timestamp(6),
+    "end"              timestamp(6),
+    created_at         timestamp(6),
+    updated_at         timestamp(6),
+    constraint pk_game primary key (id)
+);
+
+create table if not exists bet (
+    id               bigint         not null,
+    user_id          bigint         not null,
+    game_id          bigint         not null,
+    amount           numeric(38, 2) not null,
+    bet_type         varchar(32)    not null,
+    bet_value        varchar(255)   not null,
+    potential_payout numeric(38, 2),
+    win_amount       numeric(38, 2),
+    settled          boolean        not null,
+    created_at       timestamp(6),
+    constraint pk_bet primary key (id),
+    constraint fk_bet_user foreign key (user_id) references "user" (id),
+    constraint fk_bet_game foreign key (game_id) references game (id)
+);
+
+create table if not exists wallet_transaction (
+    id            bigint         not null,
+    user_id       bigint         not null,
+    amount        numeric(38, 2) not null,
+    balance_after numeric(38, 2) not null,
+    type          varchar(32)    not null,
+    reference_id  varchar(255),
+    created_at    timestamp(6),
+    constraint pk_wallet_transaction primary key (id),
+    constraint fk_wallet_transaction_user foreign key (user_id) references "user" (id)
+);
@@ -0,0 +1,10 @@
+create index idx_game_status_betting_start on game (status, betting_time_start);
+create index idx_game_status_betting_end on game (status, betting_time_end);
+create index idx_game_status_start on game (status, start);
+create index idx_game_status_end on game (status, "end");
+create index idx_game_start on game (start);
+
+create index idx_bet_game on bet (game_id);
+create index idx_bet_user_created on bet (user_id, created_at);
+
+create index idx_wallet_transaction_user_created on wallet_transaction (user_id, created_at);
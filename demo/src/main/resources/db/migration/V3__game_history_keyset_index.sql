@@ -0,0 +1,2 @@
+create index idx_game_start_id on game (start, id);
+drop index idx_game_start;
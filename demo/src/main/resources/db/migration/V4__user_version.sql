@@ -0,0 +1 @@
+alter table "user" add column version bigint not null default 0;
@@ -0,0 +1,2 @@
+create index idx_bet_game_settled on bet (game_id, settled, id);
+drop index idx_bet_game;
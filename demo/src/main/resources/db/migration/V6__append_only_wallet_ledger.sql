@@ -0,0 +1,38 @@
+alter table wallet_transaction add column sequence_number bigint;
+
+insert into wallet_transaction (id, user_id, amount, balance_after, type, reference_id, created_at)
+select coalesce((select max(id) from wallet_transaction), 0) + row_number() over (order by o.user_id),
+       o.user_id, o.balance, o.balance, 'OPENING', 'opening:' || o.user_id, current_timestamp
+from (select u.id as user_id,
+             coalesce((select w.balance_after - w.amount from wallet_transaction w
+                       where w.id = (select min(f.id) from wallet_transaction f where f.user_id = u.id)),
+                      u.balance) as balance
+      from "user" u) o
+where o.balance <> 0;
+
+merge into wallet_transaction w
+using (select id,
+              row_number() over (partition by user_id
+                                 order by case when type = 'OPENING' then 0 else 1 end, id) as rn
+       from wallet_transaction) r
+on (w.id = r.id)
+when matched then update set sequence_number = r.rn;
+
+alter table wallet_transaction alter column sequence_number set not null;
+alter table wallet_transaction add constraint uk_wallet_transaction_user_sequence unique (user_id, sequence_number);
+
+create table wallet_snapshot (
+    user_id         bigint         not null,
+    sequence_number bigint         not null,
+    balance         numeric(38, 2) not null,
+    taken_at        timestamp(6)   not null,
+    constraint pk_wallet_snapshot primary key (user_id),
+    constraint fk_wallet_snapshot_user foreign key (user_id) references "user" (id)
+);
+
+insert into wallet_snapshot (user_id, sequence_number, balance, taken_at)
+select u.id,
+       coalesce((select max(w.sequence_number) from wallet_transaction w where w.user_id = u.id), 0),
+       u.balance,
+       current_timestamp
+from "user" u;
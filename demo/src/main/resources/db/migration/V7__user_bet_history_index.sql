@@ -0,0 +1,2 @@
+create index idx_bet_user_created_id on bet (user_id, created_at, id);
+drop index idx_bet_user_created;
@@ -0,0 +1 @@
+create unique index uk_wallet_transaction_reference on wallet_transaction (reference_id);
@@ -0,0 +1,72 @@
+package com.example.demo.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class QueryPlanTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void lifecycleSweepsUseStatusTimeIndexes() {
+		assertUsesIndex("select id from game where status = 'PLANNED' and betting_time_start < current_timestamp",
+				"idx_game_status_betting_start");
+		assertUsesIndex("select id from game where status = 'BETTING_OPEN' and betting_time_end < current_timestamp",
+				"idx_game_status_betting_end");
+		assertUsesIndex("select id from game where status = 'BETTING_CLOSED' and start < current_timestamp",
+				"idx_game_status_start");
+		assertUsesIndex("select id from game where status = 'SPINNING' and \"end\" < current_timestamp",
+				"idx_game_status_end");
+	}
+
+	@Test
+	void scheduleRangeReadUsesStartIndex() {
+		assertUsesIndex("select table_id, start from game where start between current_timestamp and current_timestamp",
+				"idx_game_start_id");
+	}
+
+	@Test
+	void historyPageAvoidsTableScan() {
+		assertNoTableScan("select id, status, start from game where status in ('FINISHED', 'SETTLED') "
+				+ "and (start, id) < (current_timestamp, 100) order by start desc, id desc limit 50");
+	}
+
+	@Test
+	void betAndLedgerLookupsUseIndexes() {
+		assertNoTableScan("select id from bet where game_id = 1");
+		assertUsesIndex("select id from bet where game_id = 1 and settled = false and id > 0 and id <= 100 order by id",
+				"idx_bet_game_settled");
+		assertUsesIndex("select id from bet where user_id = 1 order by created_at desc",
+				"idx_bet_user_created");
+		assertUsesIndex("select id from wallet_transaction where user_id = 1 order by created_at desc",
+				"idx_wallet_transaction_user_created");
+	}
+
+	@Test
+	void userHistoryPagesUseKeysetIndexes() {
+		assertUsesIndex("select id from bet where user_id = 1 and (created_at, id) < (current_timestamp, 100) "
+				+ "order by created_at desc, id desc limit 50", "idx_bet_user_created_id");
+		assertUsesIndex("select id from wallet_transaction where user_id = 1 and sequence_number < 100 "
+				+ "order by sequence_number desc limit 50", "uk_wallet_transaction_user_sequence");
+	}
+
+	private void assertUsesIndex(String sql, String index) {
+		String plan = explain(sql);
+		assertTrue(plan.contains(index), () -> "Expected " + index + " in plan: " + plan);
+	}
+
+	private void assertNoTableScan(String sql) {
+		String plan = explain(sql);
+		assertTrue(!plan.contains("tablescan"), () -> "Expected an index lookup in plan: " + plan);
+	}
+
+	private String explain(String sql) {
+		return jdbcTemplate.queryForObject("explain " + sql, String.class).toLowerCase();
+	}
+}
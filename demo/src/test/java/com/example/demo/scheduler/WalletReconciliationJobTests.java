@@ -0,0 +1,84 @@
+package com.example.demo.scheduler;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class WalletReconciliationJobTests {
+
+	private static final long CONSISTENT_USER_ID = 910_001L;
+	private static final long BROKEN_USER_ID = 910_002L;
+	private static final long UNSNAPSHOTTED_USER_ID = 910_003L;
+	private static final long SNAPSHOTTED_USER_ID = 910_004L;
+
+	@Autowired
+	private WalletReconciliationJob reconciliationJob;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void reportsOnlyTheWalletsThatDoNotAddUp() throws Exception {
+		insertUser(CONSISTENT_USER_ID, "reconcile-a", "110.00");
+		insertEntry(910_001L, CONSISTENT_USER_ID, 1, "OPENING", "100.00", "100.00");
+		insertEntry(910_002L, CONSISTENT_USER_ID, 2, "BET_PLACED", "-10.00", "90.00");
+		insertEntry(910_003L, CONSISTENT_USER_ID, 3, "BET_WIN", "20.00", "110.00");
+		insertSnapshot(CONSISTENT_USER_ID, 3, "110.00");
+
+		insertUser(BROKEN_USER_ID, "reconcile-b", "80.00");
+		insertEntry(910_004L, BROKEN_USER_ID, 1, "OPENING", "100.00", "100.00");
+		insertSnapshot(BROKEN_USER_ID, 1, "100.00");
+		insertEntry(910_005L, BROKEN_USER_ID, 2, "BET_PLACED", "-10.00", "95.00");
+		insertEntry(910_006L, BROKEN_USER_ID, 4, "BET_PLACED", "-5.00", "90.00");
+
+		insertUser(UNSNAPSHOTTED_USER_ID, "reconcile-c", "0.00");
+		insertEntry(910_007L, UNSNAPSHOTTED_USER_ID, 1, "BET_WIN", "5.00", "15.00");
+
+		insertUser(SNAPSHOTTED_USER_ID, "reconcile-d", "35.00");
+		insertEntry(910_008L, SNAPSHOTTED_USER_ID, 1, "BET_WIN", "10.00", "30.00");
+		insertEntry(910_009L, SNAPSHOTTED_USER_ID, 2, "BET_WIN", "5.00", "35.00");
+		insertSnapshot(SNAPSHOTTED_USER_ID, 2, "35.00");
+
+		WalletReconciliationJob.Result result = reconciliationJob.run();
+
+		List<String> lines = Files.readAllLines(result.report());
+		assertEquals(List.of(), linesFor(lines, CONSISTENT_USER_ID));
+		assertEquals(List.of(
+				"RUNNING_BALANCE," + BROKEN_USER_ID + ",2,90.00,95.00",
+				"SEQUENCE_GAP," + BROKEN_USER_ID + ",4,3,4",
+				"MATERIALIZED_BALANCE," + BROKEN_USER_ID + ",1,100.00,80.00"),
+				linesFor(lines, BROKEN_USER_ID));
+		assertEquals(List.of("RUNNING_BALANCE," + UNSNAPSHOTTED_USER_ID + ",1,5.00,15.00"),
+				linesFor(lines, UNSNAPSHOTTED_USER_ID));
+		assertEquals(List.of("RUNNING_BALANCE," + SNAPSHOTTED_USER_ID + ",1,10.00,30.00"),
+				linesFor(lines, SNAPSHOTTED_USER_ID));
+	}
+
+	private static List<String> linesFor(List<String> lines, long userId) {
+		return lines.stream().filter(line -> line.contains("," + userId + ",")).toList();
+	}
+
+	private void insertUser(long id, String username, String balance) {
+		jdbcTemplate.update("insert into \"user\" (id, username, email, password_hash, balance, is_aactive, version) "
+				+ "values (?, ?, ?, 'x', ?, true, 0)", id, username, username + "@example.com", new BigDecimal(balance));
+	}
+
+	private void insertSnapshot(long userId, long sequence, String balance) {
+		jdbcTemplate.update("insert into wallet_snapshot (user_id, sequence_number, balance, taken_at) "
+				+ "values (?, ?, ?, current_timestamp)", userId, sequence, new BigDecimal(balance));
+	}
+
+	private void insertEntry(long id, long userId, long sequence, String type, String amount, String balanceAfter) {
+		jdbcTemplate.update("insert into wallet_transaction (id, user_id, amount, balance_after, sequence_number, type, reference_id) "
+				+ "values (?, ?, ?, ?, ?, ?, ?)", id, userId, new BigDecimal(amount), new BigDecimal(balanceAfter),
+				sequence, type, "test:" + id);
+	}
+}
@@ -0,0 +1,182 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BetResponse;
+import com.example.demo.dto.BetSlipRequest;
+import com.example.demo.dto.BetSlipResponse;
+import com.example.demo.dto.PlaceBetRequest;
+import com.example.demo.models.WalletTransaction;
+import com.example.demo.utils.BetType;
+import com.example.demo.utils.GameStatus;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.RouletteWheel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "app.idempotency.ttl=PT0S")
+class BetServiceTests {
+
+	private static final long USER_ID = 930_001L;
+	private static final long PLAYER_ID = 930_002L;
+
+	@Autowired
+	private BetService betService;
+
+	@Autowired
+	private GameService gameService;
+
+	@Autowired
+	private BetLedgerWriter betLedgerWriter;
+
+	@Autowired
+	private WalletLedger walletLedger;
+
+	@Autowired
+	private ExposureTracker exposureTracker;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void debitsTheWalletAndRejectsAnOverdraft() {
+		insertUser(PLAYER_ID, "bets-a");
+		long gameId = openGame(930_003L);
+
+		BetResponse bet = betService.placeBet(PLAYER_ID, gameId, entry(BetType.COLOR, "BLACK", "60.00"), null);
+		RuntimeException overdraft = assertThrows(RuntimeException.class,
+				() -> betService.placeBet(PLAYER_ID, gameId, entry(BetType.COLOR, "RED", "50.00"), null));
+
+		assertEquals(Money.parse("40.00"), bet.getBalanceAfter());
+		assertEquals(Money.parse("120.00"), bet.getPotentialPayout());
+		assertEquals("Insufficient balance", overdraft.getMessage());
+		assertEquals(Money.parse("40.00"), walletLedger.balanceOf(PLAYER_ID));
+		assertEquals(1, jdbcTemplate.queryForObject("select count(*) from bet where user_id = ?", Integer.class, PLAYER_ID));
+		assertEquals("bet:" + bet.getId(), jdbcTemplate.queryForObject(
+				"select reference_id from wallet_transaction where user_id = ?", String.class, PLAYER_ID));
+	}
+
+	@Test
+	void theWriterRejectsBetsPastTheCutoffEvenWhileTheGameIsStillOpen() {
+		insertUser(930_003L, "bets-b");
+		LocalDateTime now = LocalDateTime.now();
+		jdbcTemplate.update("insert into game (id, table_id, status, betting_time_start, betting_time_end, start, \"end\") "
+				+ "values (930004, 'main', 'BETTING_OPEN', ?, ?, ?, ?)", now.minusMinutes(2), now.minusSeconds(1),
+				now.plusMinutes(1), now.plusMinutes(2));
+
+		RuntimeException late = assertThrows(RuntimeException.class, () -> betLedgerWriter.place(930_003L, 930_004L,
+				List.of(entry(BetType.STRAIGHT, "0", "1.00")), List.of(RouletteWheel.parse(BetType.STRAIGHT, "0")), null));
+
+		assertEquals("Betting is closed for this game", late.getMessage());
+		assertEquals(Money.parse("100.00"), walletLedger.balanceOf(930_003L));
+	}
+
+	@Test
+	void releasesTheExposureOfADuplicateThatTheWriterReplayed() throws Exception {
+		insertUser(930_004L, "idem-b");
+		long gameId = openGame(930_005L);
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<List<WalletTransaction>> blocker = walletLedger.postAsync(Map.of(), () -> {
+			writing.countDown();
+			await(release);
+			return List.of();
+		});
+		writing.await();
+
+		List<CompletableFuture<BetResponse>> attempts = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			attempts.add(CompletableFuture.supplyAsync(() -> betService.placeBet(930_004L, gameId,
+					entry(BetType.STRAIGHT, "7", "2.00"), "race-key")));
+		}
+		Thread.sleep(500);
+		release.countDown();
+		walletLedger.await(blocker);
+
+		assertEquals(attempts.get(0).get().getId(), attempts.get(1).get().getId());
+		assertEquals(Money.parse("72.00"), exposureTracker.getExposure(gameId).orElseThrow().getMaxExposure());
+		assertEquals(Money.parse("98.00"), walletLedger.balanceOf(930_004L));
+	}
+
+	@Test
+	void replaysACompletedKeyedRequestFromTheLedgerAfterTheCacheForgotIt() {
+		insertUser(USER_ID, "idem-a");
+		long betGameId = openGame(930_001L);
+		long slipGameId = openGame(930_002L);
+
+		BetResponse bet = betService.placeBet(USER_ID, betGameId, entry(BetType.STRAIGHT, "17", "10.00"), "bet-key");
+		BetSlipResponse slip = betService.placeSlip(USER_ID, slipGameId, slip(
+				entry(BetType.COLOR, "RED", "5.00"), entry(BetType.DOZEN, "2", "20.00")), "slip-key");
+		gameService.advanceGame(betGameId, GameStatus.BETTING_OPEN, GameStatus.BETTING_CLOSED);
+
+		assertSameBet(bet, betService.placeBet(USER_ID, betGameId, entry(BetType.STRAIGHT, "17", "10.00"), "bet-key"));
+		BetSlipResponse replayed = betService.placeSlip(USER_ID, slipGameId, slip(
+				entry(BetType.COLOR, "RED", "5.00"), entry(BetType.DOZEN, "2", "20.00")), "slip-key");
+		assertEquals(Money.parse("25.00"), replayed.getTotalAmount());
+		assertEquals(Money.parse("65.00"), replayed.getBalanceAfter());
+		for (int i = 0; i < slip.getBets().size(); i++) {
+			assertSameBet(slip.getBets().get(i), replayed.getBets().get(i));
+		}
+		assertEquals(3, jdbcTemplate.queryForObject(
+				"select count(*) from wallet_transaction where user_id = ?", Integer.class, USER_ID));
+
+		RuntimeException reused = assertThrows(RuntimeException.class, () -> betService.placeSlip(USER_ID, slipGameId,
+				slip(entry(BetType.COLOR, "RED", "5.00"), entry(BetType.DOZEN, "3", "20.00")), "slip-key"));
+		assertEquals("Idempotency-Key was already used for a different request", reused.getMessage());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void insertUser(long id, String username) {
+		jdbcTemplate.update("insert into \"user\" (id, username, email, password_hash, balance, is_aactive, version) "
+				+ "values (?, ?, ?, 'x', 100.00, true, 0)", id, username, username + "@example.com");
+		jdbcTemplate.update("insert into wallet_snapshot (user_id, sequence_number, balance, taken_at) "
+				+ "values (?, 0, 100.00, current_timestamp)", id);
+	}
+
+	private long openGame(long id) {
+		LocalDateTime now = LocalDateTime.now();
+		jdbcTemplate.update("insert into game (id, table_id, status, betting_time_start, betting_time_end, start, \"end\") "
+				+ "values (?, 'main', 'PLANNED', ?, ?, ?, ?)", id, now.plusHours(1), now.plusHours(2), now.plusHours(3),
+				now.plusHours(4));
+		gameService.advanceGame(id, GameStatus.PLANNED, GameStatus.BETTING_OPEN);
+		return id;
+	}
+
+	private static void assertSameBet(BetResponse expected, BetResponse actual) {
+		assertNotSame(expected, actual);
+		assertEquals(expected.getCreatedAt().truncatedTo(ChronoUnit.MICROS), actual.getCreatedAt());
+		actual.setCreatedAt(expected.getCreatedAt());
+		assertEquals(expected, actual);
+	}
+
+	private static PlaceBetRequest entry(BetType type, String value, String amount) {
+		return new PlaceBetRequest(type, value, new BigDecimal(amount));
+	}
+
+	private static BetSlipRequest slip(PlaceBetRequest... entries) {
+		BetSlipRequest slip = new BetSlipRequest();
+		slip.setBets(List.of(entries));
+		return slip;
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyCacheTests {
+
+	private final IdempotencyCache cache = new IdempotencyCache(100, Duration.ofHours(1));
+
+	@Test
+	void rejectsAKeyReusedForADifferentRequest() {
+		assertEquals("first", cache.execute(1L, "key-1", "bet:10", () -> "first"));
+
+		RuntimeException reused = assertThrows(RuntimeException.class,
+				() -> cache.execute(1L, "key-1", "bet:20", () -> "second"));
+		assertEquals("Idempotency-Key was already used for a different request", reused.getMessage());
+		assertEquals("other user", cache.execute(2L, "key-1", "bet:20", () -> "other user"));
+	}
+
+	@Test
+	void waitsForTheAttemptInFlightInsteadOfRunningItAgain() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.execute(1L, "key-2", "bet", () -> {
+			runs.incrementAndGet();
+			running.countDown();
+			await(release);
+			return "placed";
+		}));
+		running.await();
+		CompletableFuture<String> retry = CompletableFuture.supplyAsync(() -> cache.execute(1L, "key-2", "bet", () -> {
+			runs.incrementAndGet();
+			return "placed twice";
+		}));
+		Thread.sleep(100);
+		assertFalse(retry.isDone());
+
+		release.countDown();
+		assertEquals("placed", first.get());
+		assertEquals("placed", retry.get());
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void evictsAFailedAttemptSoTheKeyCanBeRetried() {
+		RuntimeException failed = assertThrows(RuntimeException.class, () -> cache.execute(1L, "key-3", "bet", () -> {
+			throw new RuntimeException("Insufficient balance");
+		}));
+		assertEquals("Insufficient balance", failed.getMessage());
+
+		assertEquals("placed", cache.execute(1L, "key-3", "bet", () -> "placed"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.demo.service;
+
+import com.example.demo.utils.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class SettlementServiceTests {
+
+	private static final long USER_ID = 900_001L;
+	private static final long OTHER_USER_ID = 900_002L;
+	private static final long GAME_ID = 900_001L;
+
+	@Autowired
+	private SettlementService settlementService;
+
+	@Autowired
+	private WalletLedger walletLedger;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void paysWinningBetsOnceAndMarksGameSettled() throws InterruptedException {
+		insertUser(USER_ID, "settle-a");
+		insertUser(OTHER_USER_ID, "settle-b");
+		jdbcTemplate.update("insert into game (id, table_id, status, winning_number, winning_color) "
+				+ "values (?, 'main', 'FINISHED', 17, 'BLACK')", GAME_ID);
+		insertBet(900_001L, USER_ID, "STRAIGHT", "17", "10.00", "360.00");
+		insertBet(900_002L, USER_ID, "COLOR", "BLACK", "5.00", "10.00");
+		insertBet(900_003L, OTHER_USER_ID, "COLOR", "RED", "20.00", "40.00");
+
+		settlementService.submit(GAME_ID);
+		awaitStatus("SETTLED");
+		settlementService.submit(GAME_ID);
+		Thread.sleep(200);
+
+		assertEquals(Money.parse("470.00"), balanceOf(USER_ID));
+		assertEquals(Money.parse("100.00"), balanceOf(OTHER_USER_ID));
+		assertEquals(2, jdbcTemplate.queryForObject(
+				"select count(*) from wallet_transaction where user_id = ? and type = 'BET_WIN'", Integer.class, USER_ID));
+		assertEquals(0, jdbcTemplate.queryForObject(
+				"select count(*) from bet where game_id = ? and settled = false", Integer.class, GAME_ID));
+	}
+
+	private void insertUser(long id, String username) {
+		jdbcTemplate.update("insert into \"user\" (id, username, email, password_hash, balance, is_aactive, version) "
+				+ "values (?, ?, ?, 'x', 100.00, true, 0)", id, username, username + "@example.com");
+		jdbcTemplate.update("insert into wallet_snapshot (user_id, sequence_number, balance, taken_at) "
+				+ "values (?, 0, 100.00, current_timestamp)", id);
+	}
+
+	private void insertBet(long id, long userId, String type, String value, String amount, String payout) {
+		jdbcTemplate.update("insert into bet (id, user_id, game_id, amount, bet_type, bet_value, potential_payout, settled) "
+				+ "values (?, ?, ?, ?, ?, ?, ?, false)", id, userId, GAME_ID, new BigDecimal(amount), type, value,
+				new BigDecimal(payout));
+	}
+
+	private Money balanceOf(long userId) {
+		return walletLedger.balanceOf(userId);
+	}
+
+	private void awaitStatus(String status) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			String current = jdbcTemplate.queryForObject("select status from game where id = ?", String.class, GAME_ID);
+			if (status.equals(current)) {
+				return;
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("Game was not " + status + " in time");
+	}
+}
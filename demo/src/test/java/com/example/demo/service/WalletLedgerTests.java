@@ -0,0 +1,179 @@
+package com.example.demo.service;
+
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.models.WalletTransaction;
+import com.example.demo.utils.Money;
+import com.example.demo.utils.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class WalletLedgerTests {
+
+	@Autowired
+	private WalletLedger walletLedger;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void rejectsAPostingThatAnEarlierOneInTheSameBatchLeftUnfunded() throws Exception {
+		insertUser(920_001L, "ledger-a");
+		insertSnapshot(920_001L, 0, "30.00");
+		insertUser(920_002L, "ledger-b");
+
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<List<WalletTransaction>> blocker = walletLedger.postAsync(Map.of(), () -> {
+			writing.countDown();
+			await(release);
+			return List.of(credit(920_002L, "1.00", "ledger:blocker"));
+		});
+		writing.await();
+		CompletableFuture<List<WalletTransaction>> first = walletLedger.postAsync(
+				Map.of(920_001L, Money.parse("20.00")), () -> List.of(debit(920_001L, "20.00", "ledger:first")));
+		CompletableFuture<List<WalletTransaction>> second = walletLedger.postAsync(
+				Map.of(920_001L, Money.parse("20.00")), () -> List.of(debit(920_001L, "20.00", "ledger:second")));
+		release.countDown();
+
+		walletLedger.await(blocker);
+		assertEquals(Money.parse("10.00"), walletLedger.await(first).get(0).getBalanceAfter());
+		RuntimeException rejected = assertThrows(RuntimeException.class, () -> walletLedger.await(second));
+		assertEquals("Insufficient balance", rejected.getMessage());
+		assertEquals(Money.parse("10.00"), walletLedger.balanceOf(920_001L));
+	}
+
+	@Test
+	void answersBusyOnceTheQueueIsFullAndStillCommitsWhatItAccepted() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<List<WalletTransaction>> blocker = walletLedger.postAsync(Map.of(), () -> {
+			writing.countDown();
+			await(release);
+			return List.of();
+		});
+		writing.await();
+
+		List<CompletableFuture<List<WalletTransaction>>> accepted = new ArrayList<>();
+		ServiceBusyException busy = null;
+		while (busy == null) {
+			try {
+				accepted.add(walletLedger.postAsync(Map.of(), List::of));
+			} catch (ServiceBusyException e) {
+				busy = e;
+			}
+		}
+		release.countDown();
+
+		assertEquals("Wallet is busy, please retry", busy.getMessage());
+		walletLedger.await(blocker);
+		for (CompletableFuture<List<WalletTransaction>> posting : accepted) {
+			assertEquals(List.of(), walletLedger.await(posting));
+		}
+	}
+
+	@Test
+	void withdrawsAQueuedPostingOnTimeoutButWaitsOutOneTheWriterAlreadyTook() throws Exception {
+		insertUser(920_010L, "ledger-f");
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<List<WalletTransaction>> taken = walletLedger.postAsync(Map.of(), () -> {
+			writing.countDown();
+			await(release);
+			return List.of(credit(920_010L, "1.00", "ledger:taken"));
+		});
+		writing.await();
+		CompletableFuture<List<WalletTransaction>> takenResult = CompletableFuture.supplyAsync(() -> walletLedger.await(taken));
+		AtomicBoolean ran = new AtomicBoolean();
+		CompletableFuture<List<WalletTransaction>> queued = walletLedger.postAsync(Map.of(), () -> {
+			ran.set(true);
+			return List.of(credit(920_010L, "2.00", "ledger:queued"));
+		});
+
+		ServiceBusyException busy = assertThrows(ServiceBusyException.class, () -> walletLedger.await(queued));
+		release.countDown();
+
+		assertEquals("Wallet is busy, please retry", busy.getMessage());
+		assertEquals(Money.parse("1.00"), takenResult.get().get(0).getBalanceAfter());
+		walletLedger.post(Map.of(), List::of);
+		assertFalse(ran.get());
+		assertEquals(Money.parse("1.00"), walletLedger.balanceOf(920_010L));
+	}
+
+	@Test
+	void reloadsTheAccountWhenAnotherWriterTookTheNextSequence() {
+		insertUser(920_003L, "ledger-c");
+		walletLedger.post(Map.of(), () -> List.of(credit(920_003L, "10.00", "ledger:c1")));
+		insertEntry(920_003L, 920_003L, 2, "5.00", "15.00");
+
+		List<WalletTransaction> posted = walletLedger.post(Map.of(), () -> List.of(credit(920_003L, "1.00", "ledger:c3")));
+
+		assertEquals(3L, posted.get(0).getSequenceNumber());
+		assertEquals(Money.parse("16.00"), posted.get(0).getBalanceAfter());
+		assertEquals(Money.parse("16.00"), walletLedger.balanceOf(920_003L));
+	}
+
+	@Test
+	void loadsBalancesFromTheLedgerAloneOrFromSnapshotPlusTail() {
+		insertUser(920_004L, "ledger-d");
+		insertEntry(920_004L, 920_004L, 1, "50.00", "50.00");
+		insertEntry(920_005L, 920_004L, 2, "-20.00", "30.00");
+
+		insertUser(920_005L, "ledger-e");
+		insertEntry(920_006L, 920_005L, 1, "999.00", "999.00");
+		insertEntry(920_007L, 920_005L, 2, "1.00", "1000.00");
+		insertSnapshot(920_005L, 2, "100.00");
+		insertEntry(920_008L, 920_005L, 3, "-40.00", "60.00");
+		insertEntry(920_009L, 920_005L, 4, "5.00", "65.00");
+
+		assertEquals(Money.parse("30.00"), walletLedger.balanceOf(920_004L));
+		assertEquals(Money.parse("65.00"), walletLedger.balanceOf(920_005L));
+	}
+
+	private static WalletLedger.Entry credit(long userId, String amount, String referenceId) {
+		return new WalletLedger.Entry(userId, Money.parse(amount), TransactionType.BET_WIN, referenceId);
+	}
+
+	private static WalletLedger.Entry debit(long userId, String amount, String referenceId) {
+		return new WalletLedger.Entry(userId, Money.parse(amount).negate(), TransactionType.BET_PLACED, referenceId);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void insertUser(long id, String username) {
+		jdbcTemplate.update("insert into \"user\" (id, username, email, password_hash, balance, is_aactive, version) "
+				+ "values (?, ?, ?, 'x', 0, true, 0)", id, username, username + "@example.com");
+	}
+
+	private void insertSnapshot(long userId, long sequence, String balance) {
+		jdbcTemplate.update("insert into wallet_snapshot (user_id, sequence_number, balance, taken_at) "
+				+ "values (?, ?, ?, current_timestamp)", userId, sequence, new BigDecimal(balance));
+	}
+
+	private void insertEntry(long id, long userId, long sequence, String amount, String balanceAfter) {
+		jdbcTemplate.update("insert into wallet_transaction (id, user_id, amount, balance_after, sequence_number, type, reference_id) "
+				+ "values (?, ?, ?, ?, ?, 'BET_WIN', ?)", id, userId, new BigDecimal(amount), new BigDecimal(balanceAfter),
+				sequence, "test:" + id);
+	}
+}
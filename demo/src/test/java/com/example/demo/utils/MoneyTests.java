@@ -0,0 +1,31 @@
+package com.example.demo.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTests {
+
+	@Test
+	void keepsTheDecimalWireFormat() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+
+		assertEquals("470.00", mapper.writeValueAsString(Money.ofMinor(47_000)));
+		assertEquals("0.05", mapper.writeValueAsString(Money.parse("0.05")));
+		assertEquals(Money.ofMinor(1_250), mapper.readValue("12.5", Money.class));
+		assertEquals(new BigDecimal("-3.10"), new MoneyConverter().convertToDatabaseColumn(Money.parse("-3.1")));
+		assertEquals(Money.ofMinor(310), new MoneyConverter().convertToEntityAttribute(new BigDecimal("3.1000")));
+	}
+
+	@Test
+	void rejectsFractionsOfACentAndOverflow() {
+		assertThrows(IllegalArgumentException.class, () -> Money.parse("0.001"));
+		assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+		assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE / 2).times(36));
+		assertEquals(Money.ofMinor(36_000), RouletteWheel.parse(BetType.STRAIGHT, "17").potentialPayout(Money.parse("10")));
+	}
+}
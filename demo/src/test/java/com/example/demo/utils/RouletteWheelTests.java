@@ -0,0 +1,67 @@
+package com.example.demo.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouletteWheelTests {
+
+	@Test
+	void colorsMatchTheEuropeanWheel() {
+		assertEquals(RouletteColor.GREEN, RouletteWheel.colorOf(0));
+		assertEquals(RouletteColor.RED, RouletteWheel.colorOf(1));
+		assertEquals(RouletteColor.BLACK, RouletteWheel.colorOf(10));
+		assertEquals(RouletteColor.BLACK, RouletteWheel.colorOf(11));
+		assertEquals(RouletteColor.RED, RouletteWheel.colorOf(19));
+		assertEquals(RouletteColor.RED, RouletteWheel.colorOf(36));
+	}
+
+	@Test
+	void outsideBetsCoverEighteenOrTwelveNumbersAndNeverZero() {
+		for (String value : new String[]{"RED", "BLACK"}) {
+			assertCovers(RouletteWheel.parse(BetType.COLOR, value), 18);
+		}
+		for (String value : new String[]{"even", "odd"}) {
+			assertCovers(RouletteWheel.parse(BetType.PARITY, value), 18);
+		}
+		for (String value : new String[]{"LOW", "HIGH"}) {
+			assertCovers(RouletteWheel.parse(BetType.HALF, value), 18);
+		}
+		for (String value : new String[]{"1", "2", "3"}) {
+			assertCovers(RouletteWheel.parse(BetType.COLUMN, value), 12);
+			assertCovers(RouletteWheel.parse(BetType.DOZEN, value), 12);
+		}
+
+		BetSelection firstColumn = RouletteWheel.parse(BetType.COLUMN, "1");
+		assertTrue(firstColumn.covers(34));
+		assertFalse(firstColumn.covers(35));
+	}
+
+	@Test
+	void insideBetsMustBeLayoutNeighbours() {
+		BetSelection split = RouletteWheel.parse(BetType.SPLIT, "17-20");
+		assertTrue(split.covers(17) && split.covers(20));
+		assertEquals(17, split.payoutMultiplier());
+
+		assertCovers(RouletteWheel.parse(BetType.STREET, "0-2-3"), 3);
+		assertCovers(RouletteWheel.parse(BetType.CORNER, "5,6,8,9"), 4);
+		assertCovers(RouletteWheel.parse(BetType.LINE, "31-32-33-34-35-36"), 6);
+
+		assertThrows(IllegalArgumentException.class, () -> RouletteWheel.parse(BetType.SPLIT, "3-4"));
+		assertThrows(IllegalArgumentException.class, () -> RouletteWheel.parse(BetType.STRAIGHT, "37"));
+		assertThrows(IllegalArgumentException.class, () -> RouletteWheel.parse(BetType.CORNER, "1-2-3-4"));
+		assertThrows(IllegalArgumentException.class, () -> RouletteWheel.parse(BetType.STREET, "1-1-2"));
+		assertThrows(IllegalArgumentException.class, () -> RouletteWheel.parse(BetType.COLOR, "GREEN"));
+	}
+
+	private static void assertCovers(BetSelection selection, int expected) {
+		assertEquals(expected, Long.bitCount(selection.mask()));
+		assertFalse(selection.mask() >>> RouletteWheel.POCKETS != 0);
+		if (selection.betType() != BetType.STREET && selection.betType() != BetType.CORNER) {
+			assertFalse(selection.covers(0));
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HibernateSchemaUpgradeTests {
+
+	@Test
+	void upgradesASchemaThatHibernateGenerated() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:hibernate-schema;DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("""
+				create table "user" (
+				    id bigint generated by default as identity, username varchar(255) not null,
+				    email varchar(255) not null, password_hash varchar(255) not null,
+				    balance numeric(38, 2) not null, is_aactive boolean not null,
+				    created_at timestamp(6), updated_at timestamp(6),
+				    primary key (id), constraint uk5c2t4y0b6n1p unique (username), constraint uk9a8s7d6f5g4h unique (email))""");
+		jdbcTemplate.execute("""
+				create table game (
+				    id bigint generated by default as identity,
+				    status varchar(255) not null constraint game_status_check check (status in ('WAITING', 'BETTING_OPEN')),
+				    winning_number integer, winning_color varchar(255), spin_seed varchar(255), result_hash varchar(255),
+				    result_key varchar(255), betting_time_start timestamp(6), betting_time_end timestamp(6),
+				    start timestamp(6), "end" timestamp(6), created_at timestamp(6), updated_at timestamp(6),
+				    primary key (id))""");
+		jdbcTemplate.execute("""
+				create table bet (
+				    id bigint generated by default as identity, user_id bigint not null, game_id bigint not null,
+				    amount numeric(38, 2) not null, bet_type varchar(255) not null, bet_value varchar(255) not null,
+				    potential_payout numeric(38, 2), win_amount numeric(38, 2), settled boolean not null,
+				    created_at timestamp(6), primary key (id),
+				    foreign key (user_id) references "user" (id), foreign key (game_id) references game (id))""");
+		jdbcTemplate.execute("""
+				create table wallet_transaction (
+				    id bigint generated by default as identity, user_id bigint not null,
+				    amount numeric(38, 2) not null, balance_after numeric(38, 2) not null,
+				    type varchar(255) not null constraint wallet_transaction_type_check check (type in ('DEPOSIT', 'BET_PLACED')),
+				    reference_id varchar(255), created_at timestamp(6), primary key (id),
+				    foreign key (user_id) references "user" (id))""");
+		jdbcTemplate.update("insert into \"user\" (username, email, password_hash, balance, is_aactive) "
+				+ "values ('legacy', 'legacy@example.com', 'x', 40.00, true)");
+		jdbcTemplate.update("insert into game (status) values ('WAITING')");
+
+		Flyway.configure()
+				.dataSource(dataSource)
+				.locations("classpath:db/migration")
+				.baselineOnMigrate(true)
+				.baselineVersion("0")
+				.load()
+				.migrate();
+
+		assertEquals("main", jdbcTemplate.queryForObject("select table_id from game", String.class));
+		assertEquals(new BigDecimal("40.00"), jdbcTemplate.queryForObject(
+				"select balance_after from wallet_transaction where type = 'OPENING'", BigDecimal.class));
+		assertEquals(2L, jdbcTemplate.queryForObject("""
+				select count(*) from information_schema.table_constraints
+				where lower(constraint_name) in ('uk_user_username', 'uk_user_email')""", Long.class));
+	}
+}